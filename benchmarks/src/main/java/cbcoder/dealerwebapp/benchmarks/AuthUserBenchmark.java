@@ -0,0 +1,60 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.UsersInfo.model.Role;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import cbcoder.dealerwebapp.UsersInfo.security.AuthUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * AuthUserBenchmark measures AuthUser.getAuthorities, which maps the roles of the user to authorities.
+ * It is called for every authenticated request in the stateful mode, and when a token is generated.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see AuthUser
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AuthUserBenchmark {
+
+    @Param({"1", "3"})
+    private int roles;
+
+    private AuthUser authUser;
+
+    @Setup
+    public void setUp() {
+        User user = new User("John", "Smith", "john.smith@dealer.com", "password", true);
+        Set<Role> userRoles = new HashSet<>();
+        // The roles of a sales user, then of a workshop and a valeter user. The roles are equal by id.
+        for (int i = 0; i < roles; i++) {
+            Role role = new Role(RoleEnum.values()[RoleEnum.ROLE_SALES.ordinal() + i]);
+            role.setRoleId(i + 1);
+            userRoles.add(role);
+        }
+        user.setRoles(userRoles);
+        authUser = new AuthUser(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authUser.getAuthorities();
+    }
+}
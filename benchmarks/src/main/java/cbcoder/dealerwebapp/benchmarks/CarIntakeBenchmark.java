@@ -0,0 +1,113 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.services.CarService;
+import cbcoder.dealerwebapp.DealerWebAppApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarIntakeBenchmark measures the insert of a delivery of cars against the PostgreSQL database of the dev profile.
+ * The "oneByOne" benchmark creates the cars with CarService.createCar, one transaction per car,
+ * and the "bulk" benchmark creates them with CarService.createCars (batched duplicate checks, JDBC batch inserts).
+ * To measure the effect of the pooled sequences and the JDBC batching alone, run "oneByOne" on the previous version
+ * of the application, or run the benchmarks with -jvmArgs "-Dspring.jpa.properties.hibernate.jdbc.batch_size=1".
+ * The created cars are deleted after every iteration. The database must be running, as for the application.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarService
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CarIntakeBenchmark {
+
+    // The super admin created by data.sql.
+    static final String USER_EMAIL = "cleber@email.com";
+
+    @Param({"10000"})
+    private int cars;
+
+    private ConfigurableApplicationContext context;
+    private CarService carService;
+    private CarRepository carRepository;
+    private List<CarDto> delivery;
+    private final List<Long> createdCarIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(DealerWebAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "dealer-webapp.cars.search.in-memory-index=false")
+                .run();
+        carService = context.getBean(CarService.class);
+        carRepository = context.getBean(CarRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareDelivery() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER_EMAIL, null, List.of()));
+        String batch = Long.toString(System.nanoTime(), 36).toUpperCase();
+        delivery = new ArrayList<>(cars);
+        for (int i = 0; i < cars; i++) {
+            CarDto carDto = new CarDto();
+            carDto.setMake("Volkswagen");
+            carDto.setModel("Golf");
+            carDto.setColor("Blue");
+            carDto.setRegNumber("BN" + batch + i);
+            carDto.setChassisNumber("BNCH" + batch + i);
+            carDto.setKeyNumber(i);
+            carDto.setCarStatus(CarStatus.STOCK);
+            delivery.add(carDto);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteDelivery() {
+        for (int from = 0; from < createdCarIds.size(); from += 1000) {
+            carRepository.deleteAllByIdInBatch(createdCarIds.subList(from, Math.min(from + 1000, createdCarIds.size())));
+        }
+        createdCarIds.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int oneByOne() {
+        for (CarDto carDto : delivery) {
+            createdCarIds.add(carService.createCar(carDto).getCarId());
+        }
+        return createdCarIds.size();
+    }
+
+    @Benchmark
+    public int bulk() {
+        carService.createCars(delivery).forEach(carDto -> createdCarIds.add(carDto.getCarId()));
+        return createdCarIds.size();
+    }
+}
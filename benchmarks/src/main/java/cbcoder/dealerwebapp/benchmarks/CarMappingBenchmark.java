@@ -0,0 +1,100 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.mappers.CarMapper;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarMappingBenchmark compares the generated CarMapper with the reflective ModelMapper it replaced,
+ * mapping a page of Car entities to CarDto as the car listings do.
+ * The ModelMapper is configured as the application configured it (STRICT matching, skip null, private field access).
+ * Run it with the GC profiler to compare the allocation per mapped page:
+ * java -jar target/benchmarks.jar CarMappingBenchmark -prof gc
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarMapper
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CarMappingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private List<Car> cars;
+    private CarMapper carMapper;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        carMapper = Mappers.getMapper(CarMapper.class);
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+
+        User user = new User("John", "Smith", "john.smith@dealer.com", "password", true);
+        user.setUserId(2L);
+        cars = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Car car = new Car("Volkswagen", "Golf", "Blue", "AB" + i + "CDE", "WVWZZZ1KZ" + i, i, "Jane Doe",
+                    "Ready for handover", LocalDateTime.now());
+            car.setCarId((long) i + 1);
+            car.setCarStatus(CarStatus.SOLD);
+            car.setHandoverDate(LocalDateTime.now().plusDays(7));
+            car.setWorkshopServiceStatus(EnumSet.of(WorkshopServiceStatus.values()[0]));
+            car.setValeterStatus(EnumSet.of(ValeterStatus.values()[0]));
+            car.getUsers().add(user);
+            cars.add(car);
+        }
+    }
+
+    @Benchmark
+    public List<CarDto> modelMapper() {
+        List<CarDto> carDtos = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            CarDto carDto = modelMapper.map(car, CarDto.class);
+            if (!car.getUsers().isEmpty()) {
+                carDto.setUserId(car.getUsers().iterator().next().getUserId());
+            }
+            carDtos.add(carDto);
+        }
+        return carDtos;
+    }
+
+    @Benchmark
+    public List<CarDto> carMapper() {
+        List<CarDto> carDtos = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            carDtos.add(carMapper.toDto(car));
+        }
+        return carDtos;
+    }
+}
@@ -0,0 +1,93 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.mappers.CarMapper;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarPageSerializationBenchmark measures the JSON serialization of a page of CarDto, the response of the car listings.
+ * The "pagedModel" benchmark is the response of the application, which serializes the pages as PagedModel
+ * (see @EnableSpringDataWebSupport in SecurityConfig). The "pageImpl" benchmark serializes the Page directly,
+ * with its Pageable and Sort, and the "content" benchmark only the cars, the lower bound of the other two.
+ * The ObjectMapper has the modules and the date format of the Spring Boot ObjectMapper.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarDto
+ * @see PagedModel
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CarPageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<CarDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        CarMapper carMapper = Mappers.getMapper(CarMapper.class);
+        List<CarDto> carDtos = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Car car = new Car("Volkswagen", "Golf", "Blue", "AB" + i + "CDE", "WVWZZZ1KZ" + i, i, "Jane Doe",
+                    "Ready for handover", LocalDateTime.now());
+            car.setCarId((long) i + 1);
+            car.setCarStatus(CarStatus.SOLD);
+            car.setHandoverDate(LocalDateTime.now().plusDays(7));
+            car.setWorkshopServiceStatus(EnumSet.of(WorkshopServiceStatus.values()[0]));
+            car.setValeterStatus(EnumSet.of(ValeterStatus.values()[0]));
+            carDtos.add(carMapper.toDto(car));
+        }
+        page = new PageImpl<>(carDtos, PageRequest.of(0, pageSize, Sort.by("carId")), 1000);
+    }
+
+    @Benchmark
+    public byte[] pagedModel() throws Exception {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(page));
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] content() throws Exception {
+        return objectMapper.writeValueAsBytes(page.getContent());
+    }
+}
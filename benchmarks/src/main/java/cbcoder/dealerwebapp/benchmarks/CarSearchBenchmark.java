@@ -0,0 +1,122 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.Cars.enums.CarSearchField;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.search.CarSearchIndex;
+import cbcoder.dealerwebapp.DealerWebAppApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarSearchBenchmark measures a "contains" search of the cars by reg number, chassis number or buyer name
+ * against the PostgreSQL database of the dev profile.
+ * The "inMemoryIndex" benchmark searches the CarSearchIndex, built when the application is ready, and the
+ * "databaseQuery" benchmark runs the findBy*ContainingIgnoreCase query the service falls back to
+ * (upper(..) like '%term%', served by the pg_trgm GIN indexes of data.sql).
+ * The database must be running, as for the application, and have enough cars for the comparison to be meaningful,
+ * e.g. loaded with the "datagen" profile (the terms below match the generated reg numbers, VINs and buyers).
+ * The heap retained by the index is printed once per trial: a second index is built and the used heap
+ * is compared before and after, each time after a full GC.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarSearchIndex
+ * @see CarRepository
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CarSearchBenchmark {
+
+    @Param({"REG_NUMBER:AB12C", "CHASSIS_NUMBER:WVWZZZ0000", "BUYER_NAME:ARTHUR KING", "REG_NUMBER:ZQ"})
+    private String search;
+
+    private ConfigurableApplicationContext context;
+    private CarSearchIndex carSearchIndex;
+    private CarRepository carRepository;
+    private CarSearchField field;
+    private String term;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(DealerWebAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "dealer-webapp.cars.search.in-memory-index=true")
+                .run();
+        carSearchIndex = context.getBean(CarSearchIndex.class);
+        carRepository = context.getBean(CarRepository.class);
+        if (!carSearchIndex.isReady()) {
+            throw new IllegalStateException("The car search index is not built");
+        }
+        printIndexHeap();
+        String[] parts = search.split(":", 2);
+        field = CarSearchField.valueOf(parts[0]);
+        term = parts[1];
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Build another index of the cars and print the heap it retains.
+     */
+    private void printIndexHeap() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        long before = usedHeapAfterGc();
+        CarSearchIndex index = new CarSearchIndex(carRepository, true);
+        transactionTemplate.executeWithoutResult(status -> index.build());
+        long after = usedHeapAfterGc();
+        System.out.printf("%nCar search index heap: %d MB for %d cars%n", (after - before) / (1024 * 1024),
+                carRepository.count());
+        // Keep the index reachable until the heap is measured.
+        if (!index.isReady()) {
+            throw new IllegalStateException("The car search index is not built");
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public int inMemoryIndex() {
+        return carSearchIndex.search(field, term).map(List::size).orElse(-1);
+    }
+
+    @Benchmark
+    public int databaseQuery() {
+        Optional<List<Car>> cars = switch (field) {
+            case REG_NUMBER -> carRepository.findByRegNumberContainingIgnoreCase(term);
+            case CHASSIS_NUMBER -> carRepository.findByChassisNumberContainingIgnoreCase(term);
+            case BUYER_NAME -> carRepository.findByBuyerNameContainingIgnoreCase(term);
+        };
+        return cars.map(List::size).orElse(0);
+    }
+}
@@ -0,0 +1,116 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.UsersInfo.model.Role;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
+import cbcoder.dealerwebapp.UsersInfo.security.AuthUser;
+import cbcoder.dealerwebapp.UsersInfo.security.TokenVersionRegistry;
+import cbcoder.dealerwebapp.UsersInfo.security.config.JwtAuthFilter;
+import cbcoder.dealerwebapp.UsersInfo.services.UserSecurityService;
+import cbcoder.dealerwebapp.UsersInfo.services.impl.JwtServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * JwtAuthFilterBenchmark measures the JwtAuthFilter on a request with a bearer token and on a request without one.
+ * The user is served from memory, as from a warm principal cache (stateful mode) or token version cache
+ * (stateless mode), so the benchmark measures the header processing, the token verification and the authentication,
+ * not the database.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see JwtAuthFilter
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean statelessAuthorities;
+
+    private JwtAuthFilter jwtAuthFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User user = new User("John", "Smith", "john.smith@dealer.com", "password", true);
+        Role sales = new Role(RoleEnum.ROLE_SALES);
+        sales.setRoleId(1);
+        user.setRoles(Set.of(sales));
+        AuthUser authUser = new AuthUser(user);
+        UserDetailsService userDetailsService = username -> authUser;
+        UserSecurityService userSecurityService = new UserSecurityService() {
+            @Override
+            public UserDetailsService userDetailsService() {
+                return userDetailsService;
+            }
+
+            @Override
+            public void evictUserDetails(String email) {
+            }
+        };
+        JwtServiceImpl jwtService = new JwtServiceImpl(JwtTokenBenchmark.SECRET, 86400000L, 604800000L);
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(tokenVersionRepository(authUser.getTokenVersion()),
+                10000, 60000);
+        jwtAuthFilter = new JwtAuthFilter(jwtService, userSecurityService, tokenVersionRegistry, new SimpleMeterRegistry(),
+                statelessAuthorities);
+        authorizationHeader = "Bearer " + jwtService.generateJwtToken(authUser);
+    }
+
+    @Benchmark
+    public void bearerToken(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars/all-cars");
+        request.addHeader("Authorization", authorizationHeader);
+        filter(request, blackhole);
+    }
+
+    @Benchmark
+    public void noToken(Blackhole blackhole) throws Exception {
+        filter(new MockHttpServletRequest("GET", "/cars/all-cars"), blackhole);
+    }
+
+    private void filter(MockHttpServletRequest request, Blackhole blackhole) throws Exception {
+        FilterChain filterChain = (servletRequest, servletResponse) ->
+                blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The repository of the TokenVersionRegistry, answering the token version of any user without a database.
+     */
+    private static UserRepository tokenVersionRepository(int tokenVersion) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findTokenVersionByEmail")) {
+                        return Optional.of(tokenVersion);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,78 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
+import cbcoder.dealerwebapp.UsersInfo.services.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * JwtTokenBenchmark measures the token path of the JwtAuthFilter, which runs on every authenticated request.
+ * The "twoParses" benchmark is the previous validation: the subject and the expiration were read by two parses,
+ * each one deriving the HMAC key and building a new parser.
+ * The "singleParse" benchmark is the current validation with the prebuilt key and parser of the JwtServiceImpl.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see JwtServiceImpl
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    static final String SECRET = "ee60ad300ec74f5eb736bd1e08845012d748a7737a2d5541b9be3842329d2745";
+
+    private JwtServiceImpl jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl(SECRET, 86400000L, 604800000L);
+        userDetails = new User("john.smith@dealer.com", "password", List.of(new SimpleGrantedAuthority("ROLE_SALES")));
+        token = jwtService.generateJwtToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean twoParses() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(userDetails.getUsername()) && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        VerifiedJwt verifiedJwt = jwtService.parseToken(token);
+        return verifiedJwt.isValidFor(userDetails);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtService.generateJwtToken(userDetails);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
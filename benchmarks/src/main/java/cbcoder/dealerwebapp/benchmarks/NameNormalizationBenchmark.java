@@ -0,0 +1,71 @@
+package cbcoder.dealerwebapp.benchmarks;
+
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * NameNormalizationBenchmark measures the setters of Car and User which normalize the names
+ * (capitalized make, model, color, first name and last name, upper case reg number), run for every mapped entity.
+ * The names are read from the state, so the JIT can not fold them into constants.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see Car
+ * @see User
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class NameNormalizationBenchmark {
+
+    private String make = "VOLKSWAGEN";
+    private String model = "golf";
+    private String color = "bLuE";
+    private String regNumber = "ab12cde";
+    private String firstName = "jOHN";
+    private String lastName = "smith";
+    private String compoundLastName = "van der BERG";
+
+    private Car car;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        car = new Car();
+        user = new User();
+    }
+
+    @Benchmark
+    public Car carSetters() {
+        car.setMake(make);
+        car.setModel(model);
+        car.setColor(color);
+        car.setRegNumber(regNumber);
+        return car;
+    }
+
+    @Benchmark
+    public User userSetters() {
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+
+    @Benchmark
+    public User compoundLastName() {
+        user.setLastName(compoundLastName);
+        return user;
+    }
+}
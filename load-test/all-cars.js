@@ -0,0 +1,54 @@
+// Load test of GET /cars/all-cars, to compare the platform threads and the virtual threads execution modes.
+// Run the application with the "dev" profile, then with the "dev,virtual-threads" profile, and run for both:
+//   k6 run -e EMAIL=<email> -e PASSWORD=<password> load-test/all-cars.js
+// The user must have the ADMIN, SALES, VALETER or WORKSHOP role, the setup fails otherwise.
+// Optional: BASE_URL (default http://localhost:8080/api/v1), RATE (requests per second, default 500),
+// DURATION (default 2m), PAGE_SIZE (default 20).
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const RATE = parseInt(__ENV.RATE || '500');
+const PAGE_SIZE = __ENV.PAGE_SIZE || '20';
+
+export const options = {
+    scenarios: {
+        allCars: {
+            // A constant arrival rate: the requests keep coming when the server is slow, like real clients.
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: RATE,
+            maxVUs: RATE * 4,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500', 'p(99)<1000'],
+    },
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/auth/login`,
+        JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    if (response.status !== 200) {
+        fail(`Login failed with status ${response.status}`);
+    }
+    const token = response.json('token');
+    // Probe the endpoint once, so a user without a cars role (403) fails the run instead of measuring the rejections.
+    const probe = http.get(`${BASE_URL}/cars/all-cars?pageNo=0&pageSize=${PAGE_SIZE}`,
+        { headers: { Authorization: `Bearer ${token}` } });
+    if (probe.status !== 200) {
+        fail(`GET /cars/all-cars failed with status ${probe.status}, the user needs the ADMIN, SALES, VALETER or WORKSHOP role`);
+    }
+    return { token: token };
+}
+
+export default function (data) {
+    const page = Math.floor(Math.random() * 10);
+    const response = http.get(`${BASE_URL}/cars/all-cars?pageNo=${page}&pageSize=${PAGE_SIZE}`,
+        { headers: { Authorization: `Bearer ${data.token}` }, tags: { name: 'all-cars' } });
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,23 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import cbcoder.dealerwebapp.Cars.enums.CarChangeType;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarChangeNotification is the data of a "car-changed" event of the car events stream.
+ * The client reloads the changed car (e.g., with a conditional GET of the car by id) or the listing it shows.
+ *
+ * @param sequence the sequence number of the change, also sent as the id of the event.
+ * @param carId    the id of the changed car.
+ * @param type     the type of the change.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarChangeType
+ * @since 2026-10-17
+ */
+public record CarChangeNotification(long sequence, Long carId, CarChangeType type) {
+}
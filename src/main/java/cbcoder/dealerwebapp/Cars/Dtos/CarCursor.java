@@ -0,0 +1,97 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import cbcoder.dealerwebapp.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarCursor represents the position of the last car of a keyset (seek) page.
+ * It holds the sort key value of the last car and its carId, which breaks the ties of the sort key.
+ * The cursor is sent to the client as an opaque Base64 token, and the client sends it back in the "after" parameter
+ * to get the next page, so the next page is read with an index seek instead of an OFFSET scan.
+ * The supported sort keys are carId and dateCreated (ascending).
+ *
+ * @param sortBy      the sort key of the page (carId or dateCreated).
+ * @param dateCreated the date created of the last car, when the page is sorted by dateCreated.
+ * @param carId       the id of the last car.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public record CarCursor(String sortBy, LocalDateTime dateCreated, Long carId) {
+
+    public static final String SORT_BY_CAR_ID = "carId";
+    public static final String SORT_BY_DATE_CREATED = "dateCreated";
+
+    private static final String SEPARATOR = "|";
+    // Lower bound of the first page. Car ids start at 1 and every car has a creation date.
+    private static final LocalDateTime FIRST_DATE_CREATED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Decode the cursor sent by the client in the "after" parameter.
+     * A null or blank token is the position before the first car.
+     *
+     * @param token  the opaque cursor token.
+     * @param sortBy the sort key requested by the client, it must match the sort key of the token.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the sort key is not supported or the token is not valid.
+     */
+    public static CarCursor decode(String token, String sortBy) {
+        if (!SORT_BY_CAR_ID.equals(sortBy) && !SORT_BY_DATE_CREATED.equals(sortBy)) {
+            throw new InvalidCursorException("Cursor pagination only supports sorting by carId or dateCreated");
+        }
+        if (token == null || token.isBlank()) {
+            return new CarCursor(sortBy, FIRST_DATE_CREATED, 0L);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (!parts[0].equals(sortBy)) {
+                throw new InvalidCursorException("Cursor was not created for sorting by " + sortBy);
+            }
+            if (SORT_BY_CAR_ID.equals(sortBy) && parts.length == 2) {
+                return new CarCursor(sortBy, null, Long.parseLong(parts[1]));
+            }
+            if (SORT_BY_DATE_CREATED.equals(sortBy) && parts.length == 3) {
+                return new CarCursor(sortBy, LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        throw new InvalidCursorException("Invalid cursor");
+    }
+
+    /**
+     * Create the cursor positioned at the given car.
+     *
+     * @param carDto the last car of the page.
+     * @param sortBy the sort key of the page.
+     * @return the cursor of the next page.
+     */
+    public static CarCursor after(CarDto carDto, String sortBy) {
+        return new CarCursor(sortBy, carDto.getDateCreated(), carDto.getCarId());
+    }
+
+    public boolean isSortedByDateCreated() {
+        return SORT_BY_DATE_CREATED.equals(sortBy);
+    }
+
+    /**
+     * Encode the cursor as an opaque, URL safe token.
+     *
+     * @return the cursor token.
+     */
+    public String encode() {
+        String value = isSortedByDateCreated()
+                ? sortBy + SEPARATOR + dateCreated + SEPARATOR + carId
+                : sortBy + SEPARATOR + carId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
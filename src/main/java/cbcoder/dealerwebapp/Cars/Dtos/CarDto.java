@@ -49,6 +49,8 @@ public class CarDto implements Serializable {
     private String regNumber;
     private String chassisNumber;
     private Long userId;
+    // The version of the car read by the client, sent back on update to detect a concurrent change.
+    private Long version;
 
     public CarDto() {
     }
@@ -77,62 +79,122 @@ public class CarDto implements Serializable {
         return carId;
     }
 
+    public void setCarId(Long carId) {
+        this.carId = carId;
+    }
+
     public int getKeyNumber() {
         return keyNumber;
     }
 
+    public void setKeyNumber(int keyNumber) {
+        this.keyNumber = keyNumber;
+    }
+
     public LocalDateTime getDateCreated() {
         return dateCreated;
     }
 
+    public void setDateCreated(LocalDateTime dateCreated) {
+        this.dateCreated = dateCreated;
+    }
+
     public LocalDateTime getDateUpdated() {
         return dateUpdated;
     }
 
+    public void setDateUpdated(LocalDateTime dateUpdated) {
+        this.dateUpdated = dateUpdated;
+    }
+
     public LocalDateTime getHandoverDate() {
         return handoverDate;
     }
 
+    public void setHandoverDate(LocalDateTime handoverDate) {
+        this.handoverDate = handoverDate;
+    }
+
     public String getBuyerName() {
         return buyerName;
     }
 
+    public void setBuyerName(String buyerName) {
+        this.buyerName = buyerName;
+    }
+
     public String getComments() {
         return comments;
     }
 
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+
     public CarStatus getCarStatus() {
         return carStatus;
     }
 
+    public void setCarStatus(CarStatus carStatus) {
+        this.carStatus = carStatus;
+    }
+
     public Set<WorkshopServiceStatus> getWorkshopServiceStatus() {
         return workshopServiceStatus;
     }
 
+    public void setWorkshopServiceStatus(Set<WorkshopServiceStatus> workshopServiceStatus) {
+        this.workshopServiceStatus = workshopServiceStatus;
+    }
+
     public Set<ValeterStatus> getValeterStatus() {
         return valeterStatus;
     }
 
+    public void setValeterStatus(Set<ValeterStatus> valeterStatus) {
+        this.valeterStatus = valeterStatus;
+    }
+
     public String getMake() {
         return make;
     }
 
+    public void setMake(String make) {
+        this.make = make;
+    }
+
     public String getModel() {
         return model;
     }
 
+    public void setModel(String model) {
+        this.model = model;
+    }
+
     public String getColor() {
         return color;
     }
 
+    public void setColor(String color) {
+        this.color = color;
+    }
+
     public String getRegNumber() {
         return regNumber;
     }
 
+    public void setRegNumber(String regNumber) {
+        this.regNumber = regNumber;
+    }
+
     public String getChassisNumber() {
         return chassisNumber;
     }
 
+    public void setChassisNumber(String chassisNumber) {
+        this.chassisNumber = chassisNumber;
+    }
+
     public Long getUserId() {
         return userId;
     }
@@ -141,6 +203,14 @@ public class CarDto implements Serializable {
         this.userId = userId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -161,13 +231,14 @@ public class CarDto implements Serializable {
                 Objects.equals(this.model, entity.model) &&
                 Objects.equals(this.color, entity.color) &&
                 Objects.equals(this.regNumber, entity.regNumber) &&
-                Objects.equals(this.chassisNumber, entity.chassisNumber);
+                Objects.equals(this.chassisNumber, entity.chassisNumber) &&
+                Objects.equals(this.version, entity.version);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(carId, keyNumber, dateCreated, dateUpdated, handoverDate, buyerName, userId, comments, carStatus, workshopServiceStatus,
-                valeterStatus, make, model, color, regNumber, chassisNumber);
+                valeterStatus, make, model, color, regNumber, chassisNumber, version);
     }
 
     @Override
@@ -188,6 +259,7 @@ public class CarDto implements Serializable {
                 "model = " + model + ", " +
                 "color = " + color + ", " +
                 "regNumber = " + regNumber + ", " +
-                "chassisNumber = " + chassisNumber + ")";
+                "chassisNumber = " + chassisNumber + ", " +
+                "version = " + version + ")";
     }
 }
\ No newline at end of file
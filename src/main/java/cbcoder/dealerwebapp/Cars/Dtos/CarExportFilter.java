@@ -0,0 +1,24 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarExportFilter holds the filters of a car export. A null filter is not applied.
+ *
+ * @param carStatus    the status of the cars (STOCK or SOLD).
+ * @param handoverFrom the first handover date of the cars (inclusive).
+ * @param handoverTo   the last handover date of the cars (exclusive).
+ * @param model        a part of the model of the cars, ignoring case.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public record CarExportFilter(CarStatus carStatus, LocalDateTime handoverFrom, LocalDateTime handoverTo, String model) {
+}
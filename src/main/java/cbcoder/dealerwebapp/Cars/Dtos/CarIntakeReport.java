@@ -0,0 +1,23 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import java.util.List;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarIntakeReport is the response of a bulk car intake, with the totals and the result of every row of the manifest.
+ *
+ * @param total    the number of rows in the manifest.
+ * @param created  the number of cars created.
+ * @param rejected the number of rows not created (duplicated, invalid or failed).
+ * @param rows     the result of every row, in the order of the manifest.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarIntakeRowResult
+ * @since 2026-10-17
+ */
+public record CarIntakeReport(int total, int created, int rejected, List<CarIntakeRowResult> rows) {
+}
@@ -0,0 +1,24 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import cbcoder.dealerwebapp.Cars.enums.CarIntakeStatus;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarIntakeRowResult is the result of one row of a bulk car intake manifest.
+ *
+ * @param row       the number of the row in the manifest (the first car is the row 1).
+ * @param regNumber the reg number of the row, if it could be read.
+ * @param status    the result of the row.
+ * @param carId     the id of the created car, when the row is created.
+ * @param message   the reason why the row was not created.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarIntakeReport
+ * @since 2026-10-17
+ */
+public record CarIntakeRowResult(int row, String regNumber, CarIntakeStatus status, Long carId, String message) {
+}
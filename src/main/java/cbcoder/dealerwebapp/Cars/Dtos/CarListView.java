@@ -0,0 +1,64 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarListView is a closed projection of a car with only the columns shown in the car listings.
+ * It is selected by the CarRepository list view queries, so the listings never hydrate managed Car entities
+ * and never load the users of a car, only the id of its first user.
+ * The status collections are loaded separately for the whole page (see CarStatusValue),
+ * or decoded from the bitmask columns of the car row when the status storage is BITMASK.
+ *
+ * @param carId
+ * @param keyNumber
+ * @param dateCreated
+ * @param dateUpdated
+ * @param handoverDate
+ * @param buyerName
+ * @param comments
+ * @param carStatus
+ * @param make
+ * @param model
+ * @param color
+ * @param regNumber
+ * @param chassisNumber
+ * @param userId
+ * @param version
+ * @param workshopServiceStatusMask
+ * @param valeterStatusMask
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarDto
+ * @see CarStatusValue
+ * @since 2026-10-17
+ */
+public record CarListView(
+        Long carId,
+        int keyNumber,
+        LocalDateTime dateCreated,
+        LocalDateTime dateUpdated,
+        LocalDateTime handoverDate,
+        String buyerName,
+        String comments,
+        CarStatus carStatus,
+        String make,
+        String model,
+        String color,
+        String regNumber,
+        String chassisNumber,
+        Long userId,
+        Long version,
+        Set<WorkshopServiceStatus> workshopServiceStatusMask,
+        Set<ValeterStatus> valeterStatusMask
+) {
+}
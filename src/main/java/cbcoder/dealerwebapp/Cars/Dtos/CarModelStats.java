@@ -0,0 +1,22 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarModelStats is the number of cars in stock and sold of a make, model and color, in the stock dashboard.
+ *
+ * @param make       the make of the cars.
+ * @param model      the model of the cars.
+ * @param color      the color of the cars.
+ * @param stockCount the number of cars in stock.
+ * @param soldCount  the number of cars sold.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStats
+ * @since 2026-10-17
+ */
+public record CarModelStats(String make, String model, String color, long stockCount, long soldCount) {
+}
@@ -0,0 +1,20 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarMonthStats is the number of cars sold in a month, and their average days in stock, in the stock dashboard.
+ *
+ * @param month             the month of the sales (e.g., 2026-10).
+ * @param soldCount         the number of cars sold in the month.
+ * @param averageDaysToSell the average days in stock of the cars sold in the month.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStats
+ * @since 2026-10-17
+ */
+public record CarMonthStats(String month, long soldCount, double averageDaysToSell) {
+}
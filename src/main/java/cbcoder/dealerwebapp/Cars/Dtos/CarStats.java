@@ -0,0 +1,31 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStats is the response of the stock dashboard: the number of cars in stock and sold, the average days in stock,
+ * the cars by make, model and color, and the cars sold per month.
+ * The days in stock of a stock car are counted to the date of the stats, and of a sold car to the date of its sale.
+ *
+ * @param date               the date of the stats.
+ * @param stockCount         the number of cars in stock.
+ * @param soldCount          the number of cars sold.
+ * @param averageDaysInStock the average days in stock of the cars in stock.
+ * @param averageDaysToSell  the average days in stock of the sold cars.
+ * @param cars               the cars in stock and sold, by make, model and color.
+ * @param soldPerMonth       the cars sold, by month of the sale.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarModelStats
+ * @see CarMonthStats
+ * @since 2026-10-17
+ */
+public record CarStats(LocalDate date, long stockCount, long soldCount, double averageDaysInStock,
+                       double averageDaysToSell, List<CarModelStats> cars, List<CarMonthStats> soldPerMonth) {
+}
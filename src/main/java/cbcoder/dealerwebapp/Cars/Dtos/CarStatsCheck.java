@@ -0,0 +1,28 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+import java.util.List;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsCheck is the result of the consistency check of the stock dashboard aggregates.
+ * The summary table is compared with the totals of the CARS table, and the in-memory counters with the summary table.
+ * A mismatch of the counters can also be a change committed between the two reads, which the next check does not report.
+ *
+ * @param summaryMismatches the groups of which the summary table is not the totals of the cars.
+ * @param memoryMismatches  the groups of which the in-memory counters are not the summary table.
+ * @param repaired          true if the aggregates were repaired (rebuilt or reloaded) after the check.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStats
+ * @since 2026-10-17
+ */
+public record CarStatsCheck(List<String> summaryMismatches, List<String> memoryMismatches, boolean repaired) {
+
+    public boolean isConsistent() {
+        return summaryMismatches.isEmpty() && memoryMismatches.isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package cbcoder.dealerwebapp.Cars.Dtos;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatusValue is one row of a car status collection (workshop service status or valeter status).
+ * It is used to load the status collections of a whole page of CarListView with one query per collection.
+ *
+ * @param carId  the id of the car.
+ * @param status the status value.
+ * @param <E>    the status enum.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarListView
+ * @since 2026-10-17
+ */
+public record CarStatusValue<E extends Enum<E>>(Long carId, E status) {
+}
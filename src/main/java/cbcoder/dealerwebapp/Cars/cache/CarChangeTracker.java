@@ -0,0 +1,48 @@
+package cbcoder.dealerwebapp.Cars.cache;
+
+import cbcoder.dealerwebapp.Cars.events.CarChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarChangeTracker keeps a change stamp of the cars table, used as the ETag of the car listings.
+ * The stamp is incremented by every CarChangedEvent, after the transaction of the change is committed,
+ * so a listing can be answered with 304 (NOT MODIFIED) without reading, mapping or serializing any car.
+ * The stamp must be read before the listing is loaded: a listing read concurrently with a change is then tagged
+ * with the previous stamp, and it is downloaded again by the next request.
+ * The stamp starts at a random epoch, so the ETags of a previous run of the application are never matched.
+ * The stamp only tracks the changes made through this instance of the application.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarChangedEvent
+ * @since 2026-10-17
+ */
+@Component
+public class CarChangeTracker {
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong stamp = new AtomicLong();
+
+    /**
+     * Get the weak ETag of the current state of the cars.
+     *
+     * @return the ETag of the car listings.
+     */
+    public String etag() {
+        return "W/\"" + epoch + "-" + stamp.get() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        stamp.incrementAndGet();
+    }
+}
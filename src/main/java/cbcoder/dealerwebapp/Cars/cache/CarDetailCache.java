@@ -0,0 +1,76 @@
+package cbcoder.dealerwebapp.Cars.cache;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.events.CarChangedEvent;
+import cbcoder.dealerwebapp.globalConfig.CacheLoaders;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarDetailCache is a bounded read-through cache of the car details (CarDto) by carId.
+ * The entries are evicted by size (least frequently used) and expire after the configured time to live.
+ * A car is evicted when a CarChangedEvent is published for it, after the transaction of the change is committed
+ * (or at once, when the change does not run in a transaction).
+ * The load of a car is shared by the concurrent readers of the same carId, and runs on a virtual thread of the
+ * CacheLoaders. The eviction of a car drops a load of the same car in progress, so a value read before a concurrent
+ * update is committed is never kept in the cache.
+ * The cache hits, misses and evictions are published as the "carDetails" cache metrics.
+ * The cached CarDto objects are shared by the requests, they must not be modified.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarChangedEvent
+ * @since 2026-10-17
+ */
+@Component
+public class CarDetailCache {
+
+    private final AsyncCache<Long, CarDto> cars;
+
+    public CarDetailCache(MeterRegistry meterRegistry,
+                          @Value("${dealer-webapp.cars.detail-cache.maximum-size:5000}") long maximumSize,
+                          @Value("${dealer-webapp.cars.detail-cache.time-to-live:600000}") long timeToLive) {
+        this.cars = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(timeToLive))
+                .executor(CacheLoaders.EXECUTOR)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cars.synchronous(), "carDetails");
+    }
+
+    /**
+     * Get the car details from the cache, loading them on a miss.
+     * If the loader throws an exception (e.g., the car is not found), nothing is cached and the exception is thrown.
+     *
+     * @param carId  the id of the car.
+     * @param loader the function loading the car details from the database.
+     * @return the car details.
+     */
+    public CarDto get(Long carId, Function<Long, CarDto> loader) {
+        return CacheLoaders.join(cars.get(carId, loader));
+    }
+
+    /**
+     * Evict the changed car, once the transaction of the change is committed.
+     *
+     * @param event the change of the car.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        cars.synchronous().invalidate(event.carId());
+    }
+}
@@ -1,19 +1,45 @@
 package cbcoder.dealerwebapp.Cars.controllers;
 
+import cbcoder.dealerwebapp.Cars.Dtos.CarCursor;
 import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.Dtos.CarExportFilter;
+import cbcoder.dealerwebapp.Cars.Dtos.CarIntakeReport;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStats;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStatsCheck;
+import cbcoder.dealerwebapp.Cars.cache.CarChangeTracker;
+import cbcoder.dealerwebapp.Cars.enums.CarExportFormat;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.events.CarEventBroadcaster;
 import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.services.CarExportService;
+import cbcoder.dealerwebapp.Cars.services.CarIntakeService;
 import cbcoder.dealerwebapp.Cars.services.CarService;
+import cbcoder.dealerwebapp.Cars.services.CarStatsService;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
@@ -25,7 +51,15 @@ import java.util.List;
  * It has methods to create, update, delete, and get cars. It also has methods to get cars by different parameters.
  * It uses CarService to perform the operations.
  * The methods are secured using the @PreAuthorize annotation to allow only specific roles to access the methods.
+ * The roles are checked with hasAnyRole, as the granted authorities are the role names with the "ROLE_" prefix.
  * The methods are also annotated with @CrossOrigin to allow requests from the frontend.
+ * The "/scroll" endpoints are the cursor based versions of the listings. They return a Slice of cars,
+ * and the cursor of the next slice in the X-Next-Cursor header, to be sent back in the "after" parameter.
+ * The listings of all, stock and sold cars and the car by id support conditional GET (ETag and If-None-Match).
+ * The "/valeting-board" and "/workshop-board" endpoints list the stock cars with the given statuses pending.
+ * The "/stats" endpoint returns the stock dashboard, read from the aggregates kept in memory.
+ * The "/export" endpoint streams the filtered cars as CSV or NDJSON, without paging.
+ * The "/events" endpoint is a Server-Sent Events stream of the car changes, pushed after they are committed.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -36,10 +70,24 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200")
 public class CarController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CarService carService;
+    private final CarIntakeService carIntakeService;
+    private final CarExportService carExportService;
+    private final CarStatsService carStatsService;
+    private final CarChangeTracker carChangeTracker;
+    private final CarEventBroadcaster carEventBroadcaster;
 
-    public CarController(CarService carService) {
+    public CarController(CarService carService, CarIntakeService carIntakeService, CarExportService carExportService,
+                         CarStatsService carStatsService, CarChangeTracker carChangeTracker,
+                         CarEventBroadcaster carEventBroadcaster) {
         this.carService = carService;
+        this.carIntakeService = carIntakeService;
+        this.carExportService = carExportService;
+        this.carStatsService = carStatsService;
+        this.carChangeTracker = carChangeTracker;
+        this.carEventBroadcaster = carEventBroadcaster;
     }
 
     /**
@@ -51,23 +99,41 @@ public class CarController {
      * @return ResponseEntity with the created CarDto object created.
      */
     @PostMapping("/create")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES')")
     public ResponseEntity<CarDto> createCar(@RequestBody @Valid CarDto carDto) {
         return ResponseEntity.ok(carService.createCar(carDto));
     }
 
+    /**
+     * This method creates the cars of a delivery manifest.
+     * It receives a CSV (with a header row) or NDJSON (one car per line) file in the "file" part of a multipart request,
+     * and returns a ResponseEntity with the report of the intake: the totals and the result of every row.
+     * The rows which are not valid or are duplicates are reported and do not stop the intake.
+     * The method is secured to allow only ADMIN and SALES roles to access it.
+     *
+     * @param file the manifest file.
+     * @return ResponseEntity with the CarIntakeReport of the manifest.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES')")
+    public ResponseEntity<CarIntakeReport> createCars(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(carIntakeService.intake(file));
+    }
+
     /**
      * This method updates a car.
      * It receives a carId and a CarDto object and returns a ResponseEntity with the updated CarDto object.
      * The method is secured to allow only ADMIN and SALES roles to access it.
      * The method is annotated with @Valid to validate the CarDto object.
+     * If the CarDto has the version of the car read by the client, and the car was changed since,
+     * the response is 409 (CONFLICT), and the client must reload the car.
      *
      * @param carId  Long carId
      * @param carDto CarDto object
      * @return ResponseEntity with the updated CarDto object.
      */
     @PutMapping("/update-to-sold/{carId}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES')")
     public ResponseEntity<CarDto> updateCarToSold(@PathVariable Long carId, @RequestBody @Valid CarDto carDto) {
         return ResponseEntity.ok(carService.updateCarToSold(carId, carDto));
     }
@@ -76,34 +142,40 @@ public class CarController {
      * This method to get all the stock cars in the database.
      * The pageable object is used to set the page number, page size, and sort by parameters.
      * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     * The page is tagged with the change stamp of the cars, and a request with a matching If-None-Match header
+     * is answered with 304 (NOT MODIFIED), without loading the page.
      *
      * @return ResponseEntity with the updated CarDto object.
      */
     @GetMapping(value = "/all-stock-cars", produces = "application/json")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     ResponseEntity<Page<CarDto>> getAllStockCars(
             @RequestParam(defaultValue = "0") Integer pageNo,
             @RequestParam(defaultValue = "10") Integer pageSize,
-            @RequestParam(defaultValue = "carId") String sortBy) {
+            @RequestParam(defaultValue = "carId") String sortBy,
+            WebRequest webRequest) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(sortBy));
-        return ResponseEntity.ok(carService.getAllStockCars(pageable));
+        return conditionalResponse(webRequest, carChangeTracker.etag(), () -> carService.getAllStockCars(pageable));
     }
 
     /**
      * This method to get all the sold cars in the database.
      * The pageable object is used to set the page number, page size, and sort by parameters.
      * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     * The page is tagged with the change stamp of the cars, and a request with a matching If-None-Match header
+     * is answered with 304 (NOT MODIFIED), without loading the page.
      *
      * @return ResponseEntity with the updated CarDto object.
      */
     @GetMapping(value = "/all-sold-cars", produces = "application/json")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     ResponseEntity<Page<CarDto>> getAllSoldCars(
             @RequestParam(defaultValue = "0") Integer pageNo,
             @RequestParam(defaultValue = "10") Integer pageSize,
-            @RequestParam(defaultValue = "carId") String sortBy) {
+            @RequestParam(defaultValue = "carId") String sortBy,
+            WebRequest webRequest) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(sortBy));
-        return ResponseEntity.ok(carService.getAllSoldCars(pageable));
+        return conditionalResponse(webRequest, carChangeTracker.etag(), () -> carService.getAllSoldCars(pageable));
     }
 
     /**
@@ -111,17 +183,100 @@ public class CarController {
      * The pageable object is used to set the page number, page size, and sort by parameters.
      * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
      * This method will be the main method to show the table with all the cars in the frontend.
+     * The page is tagged with the change stamp of the cars, and a request with a matching If-None-Match header
+     * is answered with 304 (NOT MODIFIED), without loading the page.
      *
      * @return ResponseEntity with the updated CarDto object.
      */
     @GetMapping(value = "/all-cars", produces = "application/json")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     ResponseEntity<Page<CarDto>> getAllCars(
             @RequestParam(defaultValue = "0") Integer pageNo,
             @RequestParam(defaultValue = "10") Integer pageSize,
-            @RequestParam(defaultValue = "carId") String sortBy) {
+            @RequestParam(defaultValue = "carId") String sortBy,
+            WebRequest webRequest) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(sortBy));
-        return ResponseEntity.ok(carService.getAllCars(pageable));
+        return conditionalResponse(webRequest, carChangeTracker.etag(), () -> carService.getAllCars(pageable));
+    }
+
+    /**
+     * This method gets the stock cars with all the given valeter statuses pending, ordered by car id,
+     * e.g. "/valeting-board?status=FULL_VALET". Without a status, it gets the stock cars with any valeter status pending.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     * The page supports conditional GET, like the other listings.
+     *
+     * @return ResponseEntity with a page of CarDto objects.
+     */
+    @GetMapping(value = "/valeting-board", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    ResponseEntity<Page<CarDto>> getValetingBoard(
+            @RequestParam(name = "status", required = false) Set<ValeterStatus> valeterStatus,
+            @RequestParam(defaultValue = "0") Integer pageNo,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            WebRequest webRequest) {
+        Pageable pageable = PageRequest.of(pageNo, pageSize);
+        return conditionalResponse(webRequest, carChangeTracker.etag(),
+                () -> carService.getValetingBoard(valeterStatus, pageable));
+    }
+
+    /**
+     * This method gets the stock cars with all the given workshop service statuses pending, ordered by car id,
+     * e.g. "/workshop-board?status=MOT". Without a status, it gets the stock cars with any workshop service status pending.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     * The page supports conditional GET, like the other listings.
+     *
+     * @return ResponseEntity with a page of CarDto objects.
+     */
+    @GetMapping(value = "/workshop-board", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    ResponseEntity<Page<CarDto>> getWorkshopBoard(
+            @RequestParam(name = "status", required = false) Set<WorkshopServiceStatus> workshopServiceStatus,
+            @RequestParam(defaultValue = "0") Integer pageNo,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            WebRequest webRequest) {
+        Pageable pageable = PageRequest.of(pageNo, pageSize);
+        return conditionalResponse(webRequest, carChangeTracker.etag(),
+                () -> carService.getWorkshopBoard(workshopServiceStatus, pageable));
+    }
+
+    /**
+     * This method gets the stock dashboard: the number of cars in stock and sold, the average days in stock,
+     * the cars by make, model and color, and the cars sold per month.
+     * The stats are read from memory, they are maintained when the cars are created, sold and deleted.
+     * The method is secured to allow only ADMIN and SALES roles to access it.
+     *
+     * @return ResponseEntity with the CarStats.
+     */
+    @GetMapping(value = "/stats", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES')")
+    public ResponseEntity<CarStats> getStats() {
+        return ResponseEntity.ok(carStatsService.getStats());
+    }
+
+    /**
+     * This method checks the stock dashboard aggregates against the cars in the database.
+     * With repair, the aggregates which do not match are rebuilt from the cars.
+     * The method is secured to allow only the ADMIN role to access it.
+     *
+     * @param repair true to repair the aggregates which do not match.
+     * @return ResponseEntity with the CarStatsCheck.
+     */
+    @GetMapping(value = "/stats/check", produces = "application/json")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CarStatsCheck> checkStats(@RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(carStatsService.check(repair));
+    }
+
+    /**
+     * This method rebuilds the stock dashboard aggregates from scratch, from the cars in the database.
+     * The method is secured to allow only the ADMIN role to access it.
+     *
+     * @return ResponseEntity with the CarStats of the rebuilt aggregates.
+     */
+    @PostMapping(value = "/stats/rebuild", produces = "application/json")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CarStats> rebuildStats() {
+        return ResponseEntity.ok(carStatsService.rebuild());
     }
 
     /**
@@ -134,7 +289,7 @@ public class CarController {
      * @return ResponseEntity with no content.
      */
     @DeleteMapping("/delete/{carId}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES')")
     ResponseEntity<Car> deleteCar(@PathVariable Long carId) {
         carService.deleteCar(carId);
         return ResponseEntity.noContent().build();
@@ -151,7 +306,7 @@ public class CarController {
      * @return ResponseEntity with a list of CarDto objects or a unique registration number.
      */
     @GetMapping("/reg-number/{regNumber}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     public ResponseEntity<List<CarDto>> getCarByRegNumber(@PathVariable @Valid String regNumber) {
         return ResponseEntity.ok(carService.getCarByRegNumber(regNumber));
     }
@@ -167,23 +322,27 @@ public class CarController {
      * @return ResponseEntity with a list of CarDto objects or a unique chassis number.
      */
     @GetMapping("/chassis-number/{chassisNumber}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     public ResponseEntity<List<CarDto>> getCarByChassisNumber(@PathVariable @Valid String chassisNumber) {
         return ResponseEntity.ok(carService.getCarByChassisNumber(chassisNumber));
     }
 
     /**
      * This method gets a car by the carId.
-     * It receives a carId and returns a ResponseEntity with a Car object.
+     * It receives a carId and returns a ResponseEntity with a CarDto object.
+     * The car details are served from a cache, which is evicted when the car changes.
+     * The car is tagged with its id and version, and a request with a matching If-None-Match header
+     * is answered with 304 (NOT MODIFIED), without serializing the car.
      * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
      *
      * @param carId Long carId (search parameter for carId)
-     * @return ResponseEntity with a Car object.
+     * @return ResponseEntity with a CarDto object.
      */
     @GetMapping("/car-by-id/{carId}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
-    public ResponseEntity<Car> getCarById(@PathVariable Long carId) {
-        return ResponseEntity.ok(carService.getCarById(carId));
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    public ResponseEntity<CarDto> getCarById(@PathVariable Long carId, WebRequest webRequest) {
+        CarDto carDto = carService.getCarById(carId);
+        return conditionalResponse(webRequest, carEtag(carDto), () -> carDto);
     }
 
     /**
@@ -197,7 +356,7 @@ public class CarController {
      * @return ResponseEntity with a list of CarDto objects.
      */
     @GetMapping("/car-by-model/{model}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     public ResponseEntity<Page<CarDto>> getCarByModel(@PathVariable @Valid String model,
                                                       @RequestParam(defaultValue = "0") Integer pageNo,
                                                       @RequestParam(defaultValue = "10") Integer pageSize,
@@ -217,7 +376,7 @@ public class CarController {
      * @return ResponseEntity with a list of CarDto objects.
      */
     @GetMapping("/car-by-buyer/{buyerName}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     public ResponseEntity<List<CarDto>> getCarByBuyerName(@PathVariable @Valid String buyerName) {
         return ResponseEntity.ok(carService.getCarByBuyerName(buyerName));
     }
@@ -233,7 +392,7 @@ public class CarController {
      * @return ResponseEntity with a list of CarDto objects.
      */
     @GetMapping("/get-cars/{userId}")
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
     public ResponseEntity<Page<CarDto>> getCarByUser(@PathVariable User userId,
                                                      @RequestParam(defaultValue = "0") Integer pageNo,
                                                      @RequestParam(defaultValue = "10") Integer pageSize,
@@ -241,4 +400,160 @@ public class CarController {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(sortBy));
         return ResponseEntity.ok(carService.getCarByUsers(pageable, userId));
     }
+
+    /**
+     * This method gets the next slice of cars in the database after the given cursor.
+     * The first slice is requested without the "after" parameter.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     *
+     * @param after    the cursor returned in the X-Next-Cursor header of the previous slice.
+     * @param pageSize the number of cars in the slice.
+     * @param sortBy   the sort key of the slice (carId or dateCreated).
+     * @return ResponseEntity with a Slice of CarDto objects and the cursor of the next slice.
+     */
+    @GetMapping(value = "/all-cars/scroll", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    ResponseEntity<Slice<CarDto>> getAllCarsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(defaultValue = "carId") String sortBy) {
+        return sliceResponse(carService.getAllCarsAfter(after, pageSize, sortBy), sortBy);
+    }
+
+    /**
+     * This method gets the next slice of stock cars in the database after the given cursor.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     *
+     * @param after    the cursor returned in the X-Next-Cursor header of the previous slice.
+     * @param pageSize the number of cars in the slice.
+     * @param sortBy   the sort key of the slice (carId or dateCreated).
+     * @return ResponseEntity with a Slice of CarDto objects and the cursor of the next slice.
+     */
+    @GetMapping(value = "/all-stock-cars/scroll", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    ResponseEntity<Slice<CarDto>> getAllStockCarsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(defaultValue = "carId") String sortBy) {
+        return sliceResponse(carService.getAllStockCarsAfter(after, pageSize, sortBy), sortBy);
+    }
+
+    /**
+     * This method gets the next slice of sold cars in the database after the given cursor.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     *
+     * @param after    the cursor returned in the X-Next-Cursor header of the previous slice.
+     * @param pageSize the number of cars in the slice.
+     * @param sortBy   the sort key of the slice (carId or dateCreated).
+     * @return ResponseEntity with a Slice of CarDto objects and the cursor of the next slice.
+     */
+    @GetMapping(value = "/all-sold-cars/scroll", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    ResponseEntity<Slice<CarDto>> getAllSoldCarsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(defaultValue = "carId") String sortBy) {
+        return sliceResponse(carService.getAllSoldCarsAfter(after, pageSize, sortBy), sortBy);
+    }
+
+    /**
+     * This method gets the next slice of cars by the model after the given cursor.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     *
+     * @param model    String model (search parameter for model - can be any part of the model)
+     * @param after    the cursor returned in the X-Next-Cursor header of the previous slice.
+     * @param pageSize the number of cars in the slice.
+     * @param sortBy   the sort key of the slice (carId or dateCreated).
+     * @return ResponseEntity with a Slice of CarDto objects and the cursor of the next slice.
+     */
+    @GetMapping(value = "/car-by-model/{model}/scroll", produces = "application/json")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    public ResponseEntity<Slice<CarDto>> getCarByModelAfter(@PathVariable @Valid String model,
+                                                            @RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "10") Integer pageSize,
+                                                            @RequestParam(defaultValue = "carId") String sortBy) {
+        return sliceResponse(carService.getCarByModelAfter(model, after, pageSize, sortBy), sortBy);
+    }
+
+    /**
+     * This method exports the cars as a file, streamed to the client while the cars are read from the database.
+     * The cars can be filtered by status, by a range of handover dates and by a part of the model.
+     * The method is secured to allow only ADMIN and SALES roles to access it.
+     *
+     * @param format       the format of the export (CSV or NDJSON).
+     * @param carStatus    the status of the cars (STOCK or SOLD), all the cars if not sent.
+     * @param handoverFrom the first handover date of the cars (inclusive), as dd-MM-yyyy HH:mm.
+     * @param handoverTo   the last handover date of the cars (exclusive), as dd-MM-yyyy HH:mm.
+     * @param model        String model (can be any part of the model).
+     * @return ResponseEntity with the export as an attachment.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES')")
+    public ResponseEntity<StreamingResponseBody> exportCars(
+            @RequestParam(defaultValue = "CSV") CarExportFormat format,
+            @RequestParam(required = false) CarStatus carStatus,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "dd-MM-yyyy HH:mm") LocalDateTime handoverFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "dd-MM-yyyy HH:mm") LocalDateTime handoverTo,
+            @RequestParam(required = false) String model) {
+        CarExportFilter filter = new CarExportFilter(carStatus, handoverFrom, handoverTo, model);
+        StreamingResponseBody body = outputStream -> carExportService.exportCars(filter, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("cars." + format.getExtension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * This method opens the stream of the car changes (Server-Sent Events), to be used instead of polling the listings.
+     * A "car-changed" event is sent, with the carId and the type of change, when a car is created, updated or deleted.
+     * A "resync" event is sent when changes were missed (slow client or reconnection), and the client must reload the listing.
+     * The method is secured to allow only ADMIN, SALES, VALETER, and WORKSHOP roles to access it.
+     *
+     * @param lastEventId the id of the last event received, sent by the client when it reconnects.
+     * @return the SseEmitter of the stream.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SALES', 'VALETER', 'WORKSHOP')")
+    public SseEmitter streamCarEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return carEventBroadcaster.subscribe(lastEventId);
+    }
+
+    /**
+     * This private method builds the response of a conditional GET.
+     * If the ETag matches the If-None-Match header of the request, the status is set to 304 (NOT MODIFIED)
+     * and no body is loaded or written. Otherwise, the body is loaded and returned with the ETag.
+     *
+     * @return ResponseEntity with the body and the ETag, or null if the response is not modified.
+     */
+    private <T> ResponseEntity<T> conditionalResponse(WebRequest webRequest, String etag, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+
+    /**
+     * This private method builds the weak ETag of a car, from its id and its version.
+     *
+     * @return the ETag of the car.
+     */
+    private static String carEtag(CarDto carDto) {
+        return "W/\"car-" + carDto.getCarId() + "-v" + carDto.getVersion() + "\"";
+    }
+
+    /**
+     * This private method builds the response of a slice, adding the cursor of the next slice when there is one.
+     *
+     * @return ResponseEntity with the Slice of CarDto objects.
+     */
+    private ResponseEntity<Slice<CarDto>> sliceResponse(Slice<CarDto> slice, String sortBy) {
+        if (!slice.hasNext() || slice.getContent().isEmpty()) {
+            return ResponseEntity.ok(slice);
+        }
+        CarDto last = slice.getContent().getLast();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, CarCursor.after(last, sortBy).encode())
+                .body(slice);
+    }
 }
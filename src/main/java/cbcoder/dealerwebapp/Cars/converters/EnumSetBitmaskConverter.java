@@ -0,0 +1,82 @@
+package cbcoder.dealerwebapp.Cars.converters;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * EnumSetBitmaskConverter converts a set of enum constants to an integer bitmask column and back:
+ * the bit n of the mask is set when the set contains the constant of ordinal n.
+ * The sets read from the database are unmodifiable EnumSets.
+ * The bits follow the declaration order of the enum, so the new constants must be added at the end of the enum,
+ * and an enum can have at most 31 constants.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see WorkshopServiceStatusConverter
+ * @see ValeterStatusConverter
+ * @since 2026-10-17
+ */
+public abstract class EnumSetBitmaskConverter<E extends Enum<E>> implements AttributeConverter<Set<E>, Integer> {
+
+    private final Class<E> enumClass;
+
+    protected EnumSetBitmaskConverter(Class<E> enumClass) {
+        if (enumClass.getEnumConstants().length > Integer.SIZE - 1) {
+            throw new IllegalArgumentException(enumClass.getSimpleName() + " has too many constants for a bitmask");
+        }
+        this.enumClass = enumClass;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<E> attribute) {
+        return toMask(attribute);
+    }
+
+    @Override
+    public Set<E> convertToEntityAttribute(Integer dbData) {
+        return fromMask(enumClass, dbData);
+    }
+
+    /**
+     * Encode a set of enum constants as a bitmask.
+     *
+     * @param values - the enum constants, null is an empty set.
+     * @return the bitmask of the constants.
+     */
+    public static <E extends Enum<E>> int toMask(Set<E> values) {
+        int mask = 0;
+        if (values != null) {
+            for (E value : values) {
+                mask |= 1 << value.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Decode a bitmask as a set of enum constants.
+     *
+     * @param enumClass - the class of the enum.
+     * @param mask      - the bitmask, null is an empty set.
+     * @return the unmodifiable set of the constants.
+     */
+    public static <E extends Enum<E>> Set<E> fromMask(Class<E> enumClass, Integer mask) {
+        EnumSet<E> values = EnumSet.noneOf(enumClass);
+        if (mask != null && mask != 0) {
+            for (E value : enumClass.getEnumConstants()) {
+                if ((mask & (1 << value.ordinal())) != 0) {
+                    values.add(value);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(values);
+    }
+}
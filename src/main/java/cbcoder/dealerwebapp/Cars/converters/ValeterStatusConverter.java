@@ -0,0 +1,25 @@
+package cbcoder.dealerwebapp.Cars.converters;
+
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import jakarta.persistence.Converter;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * ValeterStatusConverter stores a set of ValeterStatus as an integer bitmask column.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see EnumSetBitmaskConverter
+ * @since 2026-10-17
+ */
+@Converter
+public class ValeterStatusConverter extends EnumSetBitmaskConverter<ValeterStatus> {
+
+    public ValeterStatusConverter() {
+        super(ValeterStatus.class);
+    }
+}
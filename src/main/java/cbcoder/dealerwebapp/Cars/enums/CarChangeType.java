@@ -0,0 +1,26 @@
+package cbcoder.dealerwebapp.Cars.enums;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * Enum for the type of change of a car, published in a CarChangedEvent.
+ * Created by Cleber on 17/10/2026.
+ */
+public enum CarChangeType {
+    CREATED("Created"),
+    UPDATED("Updated"),
+    DELETED("Deleted");
+
+    private final String type;
+
+    CarChangeType(String type) {
+        this.type = type;
+    }
+
+    public String getType() {
+        return type;
+    }
+}
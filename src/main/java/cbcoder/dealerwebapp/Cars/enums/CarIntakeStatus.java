@@ -0,0 +1,28 @@
+package cbcoder.dealerwebapp.Cars.enums;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * Enum for the result of a row of a bulk car intake manifest
+ * (created, duplicated reg or chassis number, invalid row, or failed insert).
+ * Created by Cleber on 17/10/2026.
+ */
+public enum CarIntakeStatus {
+    CREATED("Created"),
+    DUPLICATE("Duplicate"),
+    INVALID("Invalid"),
+    FAILED("Failed");
+
+    private final String status;
+
+    CarIntakeStatus(String status) {
+        this.status = status;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,26 @@
+package cbcoder.dealerwebapp.Cars.enums;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * Enum for the car fields that can be searched by any part of their value (reg number, chassis number and buyer name).
+ * Created by Cleber on 17/10/2026.
+ */
+public enum CarSearchField {
+    REG_NUMBER("Reg Number"),
+    CHASSIS_NUMBER("Chassis Number"),
+    BUYER_NAME("Buyer Name");
+
+    private final String field;
+
+    CarSearchField(String field) {
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,28 @@
+package cbcoder.dealerwebapp.Cars.enums;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * Enum for the storage read for the workshop service status and valeter status sets of the cars
+ * (the "dealer-webapp.cars.status-storage" setting). Both storages are always written.
+ * COLLECTIONS reads the workshop_service_status and valeter_status tables,
+ * BITMASK reads the bitmask columns of the cars table.
+ * Created by Cleber on 17/10/2026.
+ */
+public enum CarStatusStorage {
+    COLLECTIONS("Collections"),
+    BITMASK("Bitmask");
+
+    private final String storage;
+
+    CarStatusStorage(String storage) {
+        this.storage = storage;
+    }
+
+    public String getStorage() {
+        return storage;
+    }
+}
@@ -0,0 +1,23 @@
+package cbcoder.dealerwebapp.Cars.events;
+
+import cbcoder.dealerwebapp.Cars.enums.CarChangeType;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarChangedEvent is published by the CarService when a car is created, updated or deleted.
+ * The listeners which keep a copy of the cars (e.g., the CarDetailCache) use it to drop their copy,
+ * once the transaction of the change is committed.
+ *
+ * @param carId the id of the changed car.
+ * @param type  the type of the change.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarChangeType
+ * @since 2026-10-17
+ */
+public record CarChangedEvent(Long carId, CarChangeType type) {
+}
@@ -0,0 +1,173 @@
+package cbcoder.dealerwebapp.Cars.events;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarEventBroadcaster pushes the car changes to the subscribers of the car events stream (Server-Sent Events).
+ * The changes are received as CarChangedEvent, after the transaction of the change is committed,
+ * and offered to a bounded buffer of every subscriber, so a change never waits for a client.
+ * Each subscriber has its own virtual thread, which is the only writer of its stream.
+ * When a slow client lets its buffer fill up, the buffered changes are dropped and a single "resync" event is sent,
+ * telling the client to reload what it shows instead of replaying every change.
+ * A client reconnecting with a Last-Event-ID which is not the last change is also sent a "resync" event,
+ * as the changes are not kept once they are sent.
+ * A heartbeat comment is sent when there is no change for the heartbeat interval, so idle streams are kept open
+ * by the proxies and the closed connections are detected.
+ * The number of subscribers and of resyncs are published as the "cars.events.subscribers" and "cars.events.resyncs" metrics.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarChangedEvent
+ * @see CarChangeNotification
+ * @since 2026-10-17
+ */
+@Component
+public class CarEventBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(CarEventBroadcaster.class);
+
+    static final String CAR_CHANGED_EVENT = "car-changed";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter resyncs;
+    private final int bufferSize;
+    private final long heartbeatInterval;
+    private final long timeout;
+
+    public CarEventBroadcaster(MeterRegistry meterRegistry,
+                               @Value("${dealer-webapp.cars.events.buffer-size:256}") int bufferSize,
+                               @Value("${dealer-webapp.cars.events.heartbeat-interval:15000}") long heartbeatInterval,
+                               @Value("${dealer-webapp.cars.events.timeout:1800000}") long timeout) {
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+        Gauge.builder("cars.events.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.resyncs = Counter.builder("cars.events.resyncs").register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the car changes.
+     * The stream is completed after the configured timeout, and the client is expected to reconnect.
+     *
+     * @param lastEventId the id of the last event received by the client before reconnecting, or null.
+     * @return the emitter of the stream of the subscriber.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(emitter);
+        if (lastEventId != null && !lastEventId.equals(Long.toString(sequence.get()))) {
+            subscriber.overflowed.set(true);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("car-events-" + subscriber.hashCode()).start(subscriber::run);
+        return emitter;
+    }
+
+    /**
+     * Offer the committed car change to every subscriber.
+     *
+     * @param event the change of the car.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        CarChangeNotification notification =
+                new CarChangeNotification(sequence.incrementAndGet(), event.carId(), event.type());
+        subscribers.forEach(subscriber -> subscriber.offer(notification));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<CarChangeNotification> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Offer a change without blocking. If the buffer is full, the buffered changes are dropped
+         * and the subscriber is marked to be sent a "resync" event.
+         */
+        private void offer(CarChangeNotification notification) {
+            if (!buffer.offer(notification)) {
+                overflowed.set(true);
+                buffer.clear();
+                // Wake up the writer, the change is dropped with the others when the resync is sent.
+                buffer.offer(notification);
+            }
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    CarChangeNotification notification = buffer.poll(heartbeatInterval, TimeUnit.MILLISECONDS);
+                    if (overflowed.getAndSet(false)) {
+                        buffer.clear();
+                        resyncs.increment();
+                        emitter.send(SseEmitter.event().id(Long.toString(sequence.get())).name(RESYNC_EVENT).data(""));
+                    } else if (notification == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(notification.sequence()))
+                                .name(CAR_CHANGED_EVENT)
+                                .data(notification, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone, or the stream is already completed.
+                logger.debug("Car events subscriber disconnected: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package cbcoder.dealerwebapp.Cars.mappers;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.Dtos.CarListView;
+import cbcoder.dealerwebapp.Cars.Dtos.SoldCar;
+import cbcoder.dealerwebapp.Cars.Dtos.StockCar;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.globalConfig.MapStructConfig;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarMapper maps the Car entity to its DTOs and back. The implementation is generated by MapStruct at compile time.
+ * The CarDto only carries the userId of the user assigned to the car, hiding the user details from the client.
+ * The users of a car are never mapped from a CarDto, they are set by the CarService from the authenticated user.
+ * The CarListView projection of the listings is mapped together with the status collections loaded for its page.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see Car
+ * @see CarDto
+ * @see SoldCar
+ * @see StockCar
+ * @see CarListView
+ * @since 2026-10-17
+ */
+@Mapper(config = MapStructConfig.class)
+public interface CarMapper {
+
+    @Mapping(target = "userId", source = "users", qualifiedByName = "firstUserId")
+    CarDto toDto(Car car);
+
+    @Mapping(target = "workshopServiceStatus", source = "workshopServiceStatus")
+    @Mapping(target = "valeterStatus", source = "valeterStatus")
+    CarDto toDto(CarListView car, Set<WorkshopServiceStatus> workshopServiceStatus, Set<ValeterStatus> valeterStatus);
+
+    // The status sets are read from the bitmask columns, so the status collections are not loaded.
+    @Named("fromStatusMasks")
+    @Mapping(target = "userId", source = "users", qualifiedByName = "firstUserId")
+    @Mapping(target = "workshopServiceStatus", source = "workshopServiceStatusMask")
+    @Mapping(target = "valeterStatus", source = "valeterStatusMask")
+    CarDto toDtoFromStatusMasks(Car car);
+
+    // The version of a new car is set by Hibernate, the version sent by the client is only checked on update.
+    // The id and the dates are never taken from the client (e.g. a manifest re-uploaded from a car export).
+    @Mapping(target = "carId", ignore = true)
+    @Mapping(target = "dateCreated", ignore = true)
+    @Mapping(target = "dateUpdated", ignore = true)
+    @Mapping(target = "users", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "workshopServiceStatusMask", ignore = true)
+    @Mapping(target = "valeterStatusMask", ignore = true)
+    Car toEntity(CarDto carDto);
+
+    SoldCar toSoldCar(Car car);
+
+    StockCar toStockCar(Car car);
+
+    /**
+     * Get the id of the first user assigned to the car, the lowest user id,
+     * as the list views select it (min(u.userId)), so every path returns the same user id for a car.
+     *
+     * @param users - the users of the car.
+     * @return Long - the user id, or null if the car has no user.
+     */
+    @Named("firstUserId")
+    default Long firstUserId(Set<User> users) {
+        if (users == null) {
+            return null;
+        }
+        return users.stream()
+                .map(User::getUserId)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+}
@@ -1,11 +1,16 @@
 package cbcoder.dealerwebapp.Cars.model;
 
+import cbcoder.dealerwebapp.Cars.converters.ValeterStatusConverter;
+import cbcoder.dealerwebapp.Cars.converters.WorkshopServiceStatusConverter;
 import cbcoder.dealerwebapp.Cars.enums.CarStatus;
 import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
 import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,6 +18,8 @@ import org.springframework.format.annotation.DateTimeFormat;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Objects;
@@ -29,6 +36,14 @@ import java.util.Set;
  * creation and update dates, handover date, buyer name, comments,
  * car status, workshop service status, valeter status, and associated users.
  * It is a JPA entity class and is mapped to the "CARS" table in the database.
+ * The users and the status collections are lazy and batch fetched, so a page of cars initializes them
+ * with one query per collection instead of one query per car.
+ * The "Car.listing" entity graph fetches them together with the cars, it is used when loading cars by a list of ids.
+ * The version column is the optimistic lock of the car: an update of a car changed since it was read fails,
+ * instead of overwriting the other change, and no row lock is held.
+ * The status sets are also stored as integer bitmask columns (see EnumSetBitmaskConverter), written by the setters
+ * of the status sets, so the listings can read them with the car row and filter the cars by bit tests.
+ * The bitmask sets are replaced, never modified, so Hibernate compares them by value.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -37,10 +52,18 @@ import java.util.Set;
 
 @Entity
 @Table(name = "CARS")
-@SequenceGenerator(name = "cars_seq", sequenceName = "cars_seq", allocationSize = 1)
+@NamedEntityGraph(name = Car.LISTING_GRAPH, attributeNodes = {
+        @NamedAttributeNode("users"),
+        @NamedAttributeNode("workshopServiceStatus"),
+        @NamedAttributeNode("valeterStatus")
+})
+@SequenceGenerator(name = "cars_seq", sequenceName = "cars_seq", allocationSize = 50)
 public class Car implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
+    public static final String LISTING_GRAPH = "Car.listing";
+    // The largest page size of the listings, so a whole page is initialized in one batch.
+    private static final int FETCH_BATCH_SIZE = 50;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cars_seq")
@@ -88,23 +111,40 @@ public class Car implements Serializable {
     private CarStatus carStatus;
 
     @ElementCollection(targetClass = WorkshopServiceStatus.class)
+    @BatchSize(size = FETCH_BATCH_SIZE)
     @CollectionTable(name = "workshop_service_status")
     @Enumerated(EnumType.STRING)
     @Column(name = "WORKSHOP_SERVICE_STATUS")
     private Set<WorkshopServiceStatus> workshopServiceStatus = new HashSet<>();
 
     @ElementCollection(targetClass = ValeterStatus.class)
+    @BatchSize(size = FETCH_BATCH_SIZE)
     @CollectionTable(name = "valeter_status")
     @Enumerated(EnumType.STRING)
     @Column(name = "VALETER_STATUS")
     private Set<ValeterStatus> valeterStatus = new HashSet<>();
 
+    @Convert(converter = WorkshopServiceStatusConverter.class)
+    @Mutability(Immutability.class)
+    @Column(name = "WORKSHOP_SERVICE_STATUS_MASK")
+    private Set<WorkshopServiceStatus> workshopServiceStatusMask = Collections.emptySet();
+
+    @Convert(converter = ValeterStatusConverter.class)
+    @Mutability(Immutability.class)
+    @Column(name = "VALETER_STATUS_MASK")
+    private Set<ValeterStatus> valeterStatusMask = Collections.emptySet();
+
     @ManyToMany
+    @BatchSize(size = FETCH_BATCH_SIZE)
     @JoinTable(name = "user_cars",
             joinColumns = @JoinColumn(name = "car_id"),
             inverseJoinColumns = @JoinColumn(name = "user_id"))
     private Set<User> users = new LinkedHashSet<>();
 
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
     public Car() {
     }
 
@@ -129,6 +169,14 @@ public class Car implements Serializable {
         this.users = users;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Long getCarId() {
         return carId;
     }
@@ -239,6 +287,9 @@ public class Car implements Serializable {
 
     public void setWorkshopServiceStatus(Set<WorkshopServiceStatus> workshopServiceStatus) {
         this.workshopServiceStatus = workshopServiceStatus;
+        this.workshopServiceStatusMask = workshopServiceStatus == null || workshopServiceStatus.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(workshopServiceStatus));
     }
 
     public Set<ValeterStatus> getValeterStatus() {
@@ -247,6 +298,17 @@ public class Car implements Serializable {
 
     public void setValeterStatus(Set<ValeterStatus> valeterStatus) {
         this.valeterStatus = valeterStatus;
+        this.valeterStatusMask = valeterStatus == null || valeterStatus.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(valeterStatus));
+    }
+
+    public Set<WorkshopServiceStatus> getWorkshopServiceStatusMask() {
+        return workshopServiceStatusMask;
+    }
+
+    public Set<ValeterStatus> getValeterStatusMask() {
+        return valeterStatusMask;
     }
 
     @Override
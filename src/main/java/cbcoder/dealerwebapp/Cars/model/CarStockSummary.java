@@ -0,0 +1,79 @@
+package cbcoder.dealerwebapp.Cars.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStockSummary class represents a row of the stock dashboard aggregates: the totals of the cars of a group
+ * (make, model, color, status and month of the sale), mapped to the "CAR_STOCK_SUMMARY" table.
+ * The rows are maintained by CarStatsService in the transactions which create, sell and delete the cars,
+ * with upserts adding the changes to the totals (see CarStockSummaryRepository), so they are never
+ * updated as managed entities. A row is deleted when its group has no car left.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStockSummaryId
+ * @since 2026-10-17
+ */
+@Entity
+@Table(name = "CAR_STOCK_SUMMARY")
+public class CarStockSummary implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private CarStockSummaryId id;
+
+    @Column(name = "CAR_COUNT", nullable = false)
+    private long carCount;
+
+    // Sum of the epoch days of the creation of the cars.
+    @Column(name = "CREATED_EPOCH_DAYS", nullable = false)
+    private long createdEpochDays;
+
+    // Sum of the epoch days of the sale of the cars, 0 for the stock cars.
+    @Column(name = "SOLD_EPOCH_DAYS", nullable = false)
+    private long soldEpochDays;
+
+    public CarStockSummary() {
+    }
+
+    public CarStockSummaryId getId() {
+        return id;
+    }
+
+    public long getCarCount() {
+        return carCount;
+    }
+
+    public long getCreatedEpochDays() {
+        return createdEpochDays;
+    }
+
+    public long getSoldEpochDays() {
+        return soldEpochDays;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CarStockSummary that)) return false;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
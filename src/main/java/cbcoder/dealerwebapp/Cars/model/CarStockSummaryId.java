@@ -0,0 +1,92 @@
+package cbcoder.dealerwebapp.Cars.model;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStockSummaryId is the primary key of a row of the CAR_STOCK_SUMMARY table: the group of the cars of the row.
+ * The month of the sale is an empty string for the stock cars, as the columns of a primary key can not be null.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStockSummary
+ * @since 2026-10-17
+ */
+@Embeddable
+public class CarStockSummaryId implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "MAKE", nullable = false)
+    private String make;
+
+    @Column(name = "MODEL", nullable = false)
+    private String model;
+
+    @Column(name = "COLOR", nullable = false)
+    private String color;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "CAR_STATUS", nullable = false)
+    private CarStatus carStatus;
+
+    @Column(name = "SOLD_MONTH", length = 7, nullable = false)
+    private String soldMonth;
+
+    public CarStockSummaryId() {
+    }
+
+    public CarStockSummaryId(String make, String model, String color, CarStatus carStatus, String soldMonth) {
+        this.make = make;
+        this.model = model;
+        this.color = color;
+        this.carStatus = carStatus;
+        this.soldMonth = soldMonth;
+    }
+
+    public String getMake() {
+        return make;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public CarStatus getCarStatus() {
+        return carStatus;
+    }
+
+    public String getSoldMonth() {
+        return soldMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CarStockSummaryId that)) return false;
+        return Objects.equals(make, that.make) && Objects.equals(model, that.model)
+                && Objects.equals(color, that.color) && carStatus == that.carStatus
+                && Objects.equals(soldMonth, that.soldMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(make, model, color, carStatus, soldMonth);
+    }
+}
@@ -1,15 +1,30 @@
 package cbcoder.dealerwebapp.Cars.repositories;
 
+import cbcoder.dealerwebapp.Cars.Dtos.CarListView;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStatusValue;
 import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
 import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.search.CarSearchEntry;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
@@ -19,7 +34,27 @@ import java.util.Optional;
  * </br>
  * CarRepository interface extends JpaRepository for CRUD operations on Car entity in the database.
  * It also contains custom methods for searching cars by regNumber, chassisNumber, model, buyerName, carStatus and user.
- * It also contains methods to check if a car with a given regNumber or chassisNumber exists in the database.
+ * It also contains methods to check if a car with a given regNumber or chassisNumber exists in the database,
+ * one by one or for a whole batch of cars (findExistingRegNumbers and findExistingChassisNumbers).
+ * The "containing" searches on regNumber, chassisNumber and buyerName are backed by pg_trgm GIN indexes (see data.sql),
+ * and streamAllSearchEntries feeds the in-memory CarSearchIndex.
+ * streamExportViews streams the filtered list views of the car exports through a forward-only cursor
+ * (JDBC fetch size), so an export never holds the whole table in memory.
+ * The "After" methods are the keyset (seek) pagination queries: they return a Slice of list views positioned after
+ * the given sort key and carId, so they neither skip rows with OFFSET nor run a count query.
+ * The dateCreated keyset is compared as a row value, (dateCreated, carId) > (:dateCreated, :carId), so the scan
+ * starts at the cursor in the (date_created, car_id) indexes, instead of filtering the rows before it.
+ * The Pageable passed to them must be unsorted, as the order is part of the keyset query.
+ * Fetch plan: the paged queries load only the cars, and the users and status collections of the whole page
+ * are batch fetched (see Car). findAllByCarIdIn loads the cars with the "Car.listing" entity graph,
+ * so a list of cars found by id, or the details of a car (findDetailByCarId), is loaded with a single query.
+ * The "ListViews" methods select only the columns of the car listings (CarListView) and the id of the first user,
+ * and the status collections of a page are loaded by car ids, so the listings don't hydrate managed Car entities.
+ * The list views also carry the status bitmask columns, which are read instead of the status collections
+ * when the status storage is BITMASK (see CarStatusStorage).
+ * The "StatusMask" board queries find the stock cars with all the bits of a mask set, with a bit test on the
+ * bitmask column. They are native queries (JPQL has no bitwise operator), backed by partial indexes
+ * of the stock cars with a non-zero mask (see data.sql), so the cars with no pending work are never read.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -29,12 +64,25 @@ import java.util.Optional;
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
 
+    String LIST_VIEW_SELECT = "select new cbcoder.dealerwebapp.Cars.Dtos.CarListView(c.carId, c.keyNumber, " +
+            "c.dateCreated, c.dateUpdated, c.handoverDate, c.buyerName, c.comments, c.carStatus, c.make, c.model, " +
+            "c.color, c.regNumber, c.chassisNumber, (select min(u.userId) from c.users u), c.version, c.workshopServiceStatusMask, c.valeterStatusMask) from Car c";
+
     Optional<List<Car>> findByRegNumberContainingIgnoreCase(String regNumber);
 
     Optional<List<Car>> findByChassisNumberContainingIgnoreCase(String chassisNumber);
 
     Optional<Car> findByCarId(Long carId);
 
+    @EntityGraph(Car.LISTING_GRAPH)
+    List<Car> findAllByCarIdIn(Collection<Long> carIds);
+
+    @EntityGraph(Car.LISTING_GRAPH)
+    Optional<Car> findDetailByCarId(Long carId);
+
+    @EntityGraph(attributePaths = "users")
+    Optional<Car> findWithUsersByCarId(Long carId);
+
     Page<Car> findByModelContainingIgnoreCase(Pageable pageable, String model);
 
     Optional<List<Car>> findByBuyerNameContainingIgnoreCase(String buyerName);
@@ -45,6 +93,88 @@ public interface CarRepository extends JpaRepository<Car, Long> {
 
     boolean existsByChassisNumber(String chassisNumber);
 
+    @Query("select c.regNumber from Car c where c.regNumber in :regNumbers")
+    List<String> findExistingRegNumbers(@Param("regNumbers") Collection<String> regNumbers);
+
+    @Query("select c.chassisNumber from Car c where c.chassisNumber in :chassisNumbers")
+    List<String> findExistingChassisNumbers(@Param("chassisNumbers") Collection<String> chassisNumbers);
+
     Page<Car> findAllByUsersContainingIgnoreCase(Pageable pageable, User user);
 
+    @Query(value = LIST_VIEW_SELECT, countQuery = "select count(c) from Car c")
+    Page<CarListView> findAllListViews(Pageable pageable);
+
+    @Query(value = LIST_VIEW_SELECT + " where c.carStatus = :carStatus",
+            countQuery = "select count(c) from Car c where c.carStatus = :carStatus")
+    Page<CarListView> findAllListViewsByCarStatus(@Param("carStatus") CarStatus carStatus, Pageable pageable);
+
+    @Query("select new cbcoder.dealerwebapp.Cars.Dtos.CarStatusValue(c.carId, s) " +
+            "from Car c join c.workshopServiceStatus s where c.carId in :carIds")
+    List<CarStatusValue<WorkshopServiceStatus>> findWorkshopServiceStatusByCarIdIn(@Param("carIds") Collection<Long> carIds);
+
+    @Query("select new cbcoder.dealerwebapp.Cars.Dtos.CarStatusValue(c.carId, s) " +
+            "from Car c join c.valeterStatus s where c.carId in :carIds")
+    List<CarStatusValue<ValeterStatus>> findValeterStatusByCarIdIn(@Param("carIds") Collection<Long> carIds);
+
+    @Query(LIST_VIEW_SELECT + " where c.carId in :carIds order by c.carId")
+    List<CarListView> findListViewsByCarIdIn(@Param("carIds") Collection<Long> carIds);
+
+    @Query(value = "select c.car_id from cars c where c.car_status = 'STOCK' and c.workshop_service_status_mask <> 0 " +
+            "and (c.workshop_service_status_mask & :mask) = :mask order by c.car_id",
+            countQuery = "select count(*) from cars c where c.car_status = 'STOCK' and c.workshop_service_status_mask <> 0 " +
+                    "and (c.workshop_service_status_mask & :mask) = :mask",
+            nativeQuery = true)
+    Page<Long> findStockCarIdsByWorkshopServiceStatusMask(@Param("mask") int mask, Pageable pageable);
+
+    @Query(value = "select c.car_id from cars c where c.car_status = 'STOCK' and c.valeter_status_mask <> 0 " +
+            "and (c.valeter_status_mask & :mask) = :mask order by c.car_id",
+            countQuery = "select count(*) from cars c where c.car_status = 'STOCK' and c.valeter_status_mask <> 0 " +
+                    "and (c.valeter_status_mask & :mask) = :mask",
+            nativeQuery = true)
+    Page<Long> findStockCarIdsByValeterStatusMask(@Param("mask") int mask, Pageable pageable);
+
+    @Query("select c.carId as carId, c.regNumber as regNumber, c.chassisNumber as chassisNumber, c.buyerName as buyerName from Car c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CarSearchEntry> streamAllSearchEntries();
+
+    @Query(LIST_VIEW_SELECT + " where (:carStatus is null or c.carStatus = :carStatus) " +
+            "and (:handoverFrom is null or c.handoverDate >= :handoverFrom) " +
+            "and (:handoverTo is null or c.handoverDate < :handoverTo) " +
+            "and (:model is null or upper(c.model) like upper(concat('%', :model, '%'))) " +
+            "order by c.carId")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<CarListView> streamExportViews(@Param("carStatus") CarStatus carStatus,
+                                          @Param("handoverFrom") LocalDateTime handoverFrom,
+                                          @Param("handoverTo") LocalDateTime handoverTo,
+                                          @Param("model") String model);
+
+    @Query(LIST_VIEW_SELECT + " where c.carId > :carId order by c.carId")
+    Slice<CarListView> findAllListViewsAfterCarId(@Param("carId") Long carId, Pageable pageable);
+
+    @Query(LIST_VIEW_SELECT + " where (c.dateCreated, c.carId) > (:dateCreated, :carId) order by c.dateCreated, c.carId")
+    Slice<CarListView> findAllListViewsAfterDateCreated(@Param("dateCreated") LocalDateTime dateCreated,
+                                                        @Param("carId") Long carId, Pageable pageable);
+
+    @Query(LIST_VIEW_SELECT + " where c.carStatus = :carStatus and c.carId > :carId order by c.carId")
+    Slice<CarListView> findAllListViewsByCarStatusAfterCarId(@Param("carStatus") CarStatus carStatus,
+                                                             @Param("carId") Long carId, Pageable pageable);
+
+    @Query(LIST_VIEW_SELECT + " where c.carStatus = :carStatus and (c.dateCreated, c.carId) > (:dateCreated, :carId) " +
+            "order by c.dateCreated, c.carId")
+    Slice<CarListView> findAllListViewsByCarStatusAfterDateCreated(@Param("carStatus") CarStatus carStatus,
+                                                                   @Param("dateCreated") LocalDateTime dateCreated,
+                                                                   @Param("carId") Long carId, Pageable pageable);
+
+    @Query(LIST_VIEW_SELECT + " where upper(c.model) like upper(concat('%', :model, '%')) and c.carId > :carId " +
+            "order by c.carId")
+    Slice<CarListView> findListViewsByModelAfterCarId(@Param("model") String model, @Param("carId") Long carId,
+                                                      Pageable pageable);
+
+    @Query(LIST_VIEW_SELECT + " where upper(c.model) like upper(concat('%', :model, '%')) " +
+            "and (c.dateCreated, c.carId) > (:dateCreated, :carId) order by c.dateCreated, c.carId")
+    Slice<CarListView> findListViewsByModelAfterDateCreated(@Param("model") String model,
+                                                            @Param("dateCreated") LocalDateTime dateCreated,
+                                                            @Param("carId") Long carId, Pageable pageable);
+
 }
@@ -0,0 +1,114 @@
+package cbcoder.dealerwebapp.Cars.repositories;
+
+import cbcoder.dealerwebapp.Cars.model.CarStockSummary;
+import cbcoder.dealerwebapp.Cars.model.CarStockSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStockSummaryRepository interface extends the JpaRepository interface.
+ * It provides the native queries maintaining the stock dashboard aggregates:
+ * addTotals adds the change of a group to its row with an upsert (insert ... on conflict do update),
+ * so concurrent changes of the same group are added up by the database and never overwrite each other.
+ * The aggregates can be rebuilt from the CARS table, and compared with it, with the same GROUP BY query,
+ * in which the sale date of a sold car is "coalesce(date_updated, date_created)" (see CarStatsKey).
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see JpaRepository
+ * @see CarStockSummary
+ * @since 2026-10-17
+ */
+@Repository
+public interface CarStockSummaryRepository extends JpaRepository<CarStockSummary, CarStockSummaryId> {
+
+    String CARS_TOTALS_SELECT = "select c.make, c.model, c.color, c.car_status, " +
+            "case when c.car_status = 'SOLD' then to_char(coalesce(c.date_updated, c.date_created), 'YYYY-MM') " +
+            "else '' end as sold_month, " +
+            "count(*) as car_count, " +
+            "sum(cast(c.date_created as date) - date '1970-01-01') as created_epoch_days, " +
+            "sum(case when c.car_status = 'SOLD' " +
+            "then cast(coalesce(c.date_updated, c.date_created) as date) - date '1970-01-01' else 0 end) as sold_epoch_days " +
+            "from cars c where c.car_status is not null " +
+            "group by c.make, c.model, c.color, c.car_status, sold_month";
+
+    @Modifying
+    @Query(value = "insert into car_stock_summary " +
+            "(make, model, color, car_status, sold_month, car_count, created_epoch_days, sold_epoch_days) " +
+            "values (:make, :model, :color, :carStatus, :soldMonth, :carCount, :createdEpochDays, :soldEpochDays) " +
+            "on conflict (make, model, color, car_status, sold_month) do update set " +
+            "car_count = car_stock_summary.car_count + excluded.car_count, " +
+            "created_epoch_days = car_stock_summary.created_epoch_days + excluded.created_epoch_days, " +
+            "sold_epoch_days = car_stock_summary.sold_epoch_days + excluded.sold_epoch_days",
+            nativeQuery = true)
+    int addTotals(@Param("make") String make, @Param("model") String model, @Param("color") String color,
+                  @Param("carStatus") String carStatus, @Param("soldMonth") String soldMonth,
+                  @Param("carCount") long carCount, @Param("createdEpochDays") long createdEpochDays,
+                  @Param("soldEpochDays") long soldEpochDays);
+
+    @Modifying
+    @Query(value = "delete from car_stock_summary where make = :make and model = :model and color = :color " +
+            "and car_status = :carStatus and sold_month = :soldMonth and car_count <= 0", nativeQuery = true)
+    int deleteIfEmpty(@Param("make") String make, @Param("model") String model, @Param("color") String color,
+                      @Param("carStatus") String carStatus, @Param("soldMonth") String soldMonth);
+
+    /**
+     * Lock the summary against the changes of the cars until the end of the transaction. The reads are not blocked.
+     */
+    @Modifying
+    @Query(value = "lock table car_stock_summary in exclusive mode", nativeQuery = true)
+    void lockSummary();
+
+    @Modifying
+    @Query(value = "delete from car_stock_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "insert into car_stock_summary " +
+            "(make, model, color, car_status, sold_month, car_count, created_epoch_days, sold_epoch_days) " +
+            CARS_TOTALS_SELECT, nativeQuery = true)
+    int insertFromCars();
+
+    /**
+     * Compare the summary with the totals of the CARS table, by group.
+     *
+     * @return the groups of which the summary is not the totals of the cars.
+     */
+    @Query(value = "with live as (" + CARS_TOTALS_SELECT + ") " +
+            "select coalesce(s.make, l.make) as \"make\", coalesce(s.model, l.model) as \"model\", " +
+            "coalesce(s.color, l.color) as \"color\", coalesce(s.car_status, l.car_status) as \"carStatus\", " +
+            "coalesce(s.sold_month, l.sold_month) as \"soldMonth\", " +
+            "coalesce(s.car_count, 0) as \"summaryCount\", coalesce(l.car_count, 0) as \"carsCount\" " +
+            "from car_stock_summary s full join live l on s.make = l.make and s.model = l.model " +
+            "and s.color = l.color and s.car_status = l.car_status and s.sold_month = l.sold_month " +
+            "where s.car_count is distinct from l.car_count " +
+            "or s.created_epoch_days is distinct from l.created_epoch_days " +
+            "or s.sold_epoch_days is distinct from l.sold_epoch_days", nativeQuery = true)
+    List<SummaryMismatch> findMismatches();
+
+    interface SummaryMismatch {
+        String getMake();
+
+        String getModel();
+
+        String getColor();
+
+        String getCarStatus();
+
+        String getSoldMonth();
+
+        Long getSummaryCount();
+
+        Long getCarsCount();
+    }
+}
@@ -0,0 +1,26 @@
+package cbcoder.dealerwebapp.Cars.search;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarSearchEntry is a closed projection of the Car entity with only the columns used by the search index.
+ * It is used to (re)build the CarSearchIndex without hydrating full Car entities.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarSearchIndex
+ * @since 2026-10-17
+ */
+public interface CarSearchEntry {
+
+    Long getCarId();
+
+    String getRegNumber();
+
+    String getChassisNumber();
+
+    String getBuyerName();
+}
@@ -0,0 +1,360 @@
+package cbcoder.dealerwebapp.Cars.search;
+
+import cbcoder.dealerwebapp.Cars.enums.CarSearchField;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarSearchIndex is an in-process trigram (n-gram) index of the reg number, chassis number and buyer name of every car.
+ * Each field keeps a posting list of car ids for every trigram of its upper-cased value,
+ * so a "contains" search intersects a few posting lists instead of scanning the CARS table.
+ * The posting lists are sorted arrays of primitive car ids, so an id takes 8 bytes in a posting list,
+ * instead of a boxed Long and a node in a concurrent set (see the heap reported by CarSearchBenchmark).
+ * Terms shorter than a trigram are matched with the posting lists of the trigrams containing them,
+ * and the few values shorter than a trigram are scanned.
+ * The index is built when the application is ready and kept in sync by the CarService on create, update and delete.
+ * The changes made in a transaction are applied after its commit, so a rolled back change never reaches the index.
+ * The cars deleted while the index is being built are remembered, so the build never adds them back.
+ * Until it is ready (or when it is disabled) the search returns an empty Optional,
+ * and the caller falls back to the database, where the pg_trgm GIN indexes created in data.sql are used.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarSearchField
+ * @see CarSearchEntry
+ * @since 2026-10-17
+ */
+@Component
+public class CarSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CarSearchIndex.class);
+    private static final int GRAM_SIZE = 3;
+
+    private final CarRepository carRepository;
+    private final boolean enabled;
+    private final Map<CarSearchField, FieldIndex> indexes = new EnumMap<>(CarSearchField.class);
+    // The cars deleted before the index is ready, never added back by the build.
+    private final Set<Long> removedBeforeReady = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public CarSearchIndex(CarRepository carRepository,
+                          @Value("${dealer-webapp.cars.search.in-memory-index:true}") boolean enabled) {
+        this.carRepository = carRepository;
+        this.enabled = enabled;
+        for (CarSearchField field : CarSearchField.values()) {
+            indexes.put(field, new FieldIndex());
+        }
+    }
+
+    /**
+     * Build the index from the database once the application is ready.
+     * The cars are streamed as a closed projection, so the build does not hydrate Car entities.
+     * Cars written while the index is being built are never overwritten by the (older) streamed values,
+     * and cars deleted while it is being built are not added back.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            logger.info("In-memory car search index is disabled, searches will use the database");
+            return;
+        }
+        long start = System.nanoTime();
+        try (Stream<CarSearchEntry> entries = carRepository.streamAllSearchEntries()) {
+            entries.forEach(entry -> {
+                indexes.get(CarSearchField.REG_NUMBER).putIfAbsent(entry.getCarId(), entry.getRegNumber(), removedBeforeReady);
+                indexes.get(CarSearchField.CHASSIS_NUMBER).putIfAbsent(entry.getCarId(), entry.getChassisNumber(), removedBeforeReady);
+                indexes.get(CarSearchField.BUYER_NAME).putIfAbsent(entry.getCarId(), entry.getBuyerName(), removedBeforeReady);
+            });
+        }
+        indexes.values().forEach(FieldIndex::trimToSize);
+        ready = true;
+        removedBeforeReady.clear();
+        logger.info("Car search index built with {} cars in {} ms",
+                indexes.get(CarSearchField.REG_NUMBER).size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Search the car ids whose field contains the given term, ignoring the case.
+     *
+     * @param field - the field to be searched.
+     * @param term  - any part of the value to be searched. (e.g., AB12)
+     * @return Optional<List<Long>> - the car ids sorted ascending, or empty if the index cannot answer the search.
+     */
+    public Optional<List<Long>> search(CarSearchField field, String term) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        return Optional.of(indexes.get(field).search(normalize(term)));
+    }
+
+    /**
+     * Add or update the searchable values of a car, after the commit of the current transaction (if any).
+     *
+     * @param car - the saved car.
+     */
+    public void index(Car car) {
+        if (!enabled || car.getCarId() == null) {
+            return;
+        }
+        // Read the values now, the car may be changed or detached before the commit.
+        Long carId = car.getCarId();
+        String regNumber = car.getRegNumber();
+        String chassisNumber = car.getChassisNumber();
+        String buyerName = car.getBuyerName();
+        afterCommit(() -> {
+            indexes.get(CarSearchField.REG_NUMBER).put(carId, regNumber);
+            indexes.get(CarSearchField.CHASSIS_NUMBER).put(carId, chassisNumber);
+            indexes.get(CarSearchField.BUYER_NAME).put(carId, buyerName);
+        });
+    }
+
+    /**
+     * Remove a car from the index, after the commit of the current transaction (if any).
+     *
+     * @param carId - the id of the deleted car.
+     */
+    public void remove(Long carId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            // Remembered before the values are removed, so a build streaming the car can't add it back.
+            if (!ready) {
+                removedBeforeReady.add(carId);
+            }
+            indexes.values().forEach(index -> index.put(carId, null));
+        });
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * This private method runs the task after the commit of the current transaction,
+     * or now if there is no transaction.
+     */
+    private static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The index of a single field.
+     * The values map is the source of truth, and the per-car updates are serialized by its compute method,
+     * so the posting lists of a car are never updated by two threads at the same time.
+     * The ids of the values shorter than a trigram, which have no posting, are kept apart to be scanned.
+     */
+    private static final class FieldIndex {
+        private final ConcurrentHashMap<Long, String> values = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Posting> postings = new ConcurrentHashMap<>();
+        private final Set<Long> shortValues = ConcurrentHashMap.newKeySet();
+
+        int size() {
+            return values.size();
+        }
+
+        void put(Long carId, String rawValue) {
+            String value = normalize(rawValue);
+            values.compute(carId, (id, previous) -> {
+                if (Objects.equals(previous, value)) {
+                    return previous;
+                }
+                if (previous != null) {
+                    grams(previous).forEach(gram -> unpost(gram, id));
+                }
+                if (value != null) {
+                    grams(value).forEach(gram -> post(gram, id));
+                }
+                updateShortValues(id, value);
+                return value;
+            });
+        }
+
+        void putIfAbsent(Long carId, String rawValue, Set<Long> removed) {
+            String value = normalize(rawValue);
+            if (value == null) {
+                return;
+            }
+            values.computeIfAbsent(carId, id -> {
+                // Checked under the lock of the car, which the removal of the car takes too.
+                if (removed.contains(id)) {
+                    return null;
+                }
+                grams(value).forEach(gram -> post(gram, id));
+                updateShortValues(id, value);
+                return value;
+            });
+        }
+
+        void trimToSize() {
+            postings.values().forEach(Posting::trimToSize);
+        }
+
+        List<Long> search(String needle) {
+            if (needle == null) {
+                return List.of();
+            }
+            if (needle.length() < GRAM_SIZE) {
+                return searchShort(needle);
+            }
+            List<Posting> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Posting posting = postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(Posting::size));
+            List<Posting> others = lists.subList(1, lists.size());
+            // The trigrams only narrow down the candidates, the value is checked to confirm the containment.
+            return LongStream.of(lists.getFirst().toArray())
+                    .filter(id -> others.stream().allMatch(posting -> posting.contains(id)))
+                    .filter(id -> contains(id, needle))
+                    .boxed()
+                    .toList();
+        }
+
+        // A value containing a term shorter than a trigram has a trigram containing the term, or is shorter than a trigram.
+        private List<Long> searchShort(String needle) {
+            LongStream grams = postings.entrySet().stream()
+                    .filter(entry -> entry.getKey().contains(needle))
+                    .flatMapToLong(entry -> LongStream.of(entry.getValue().toArray()));
+            LongStream shorts = shortValues.stream().mapToLong(Long::longValue);
+            return LongStream.concat(grams, shorts)
+                    .sorted()
+                    .distinct()
+                    .filter(id -> contains(id, needle))
+                    .boxed()
+                    .toList();
+        }
+
+        private boolean contains(long carId, String needle) {
+            String value = values.get(carId);
+            return value != null && value.contains(needle);
+        }
+
+        private void updateShortValues(Long carId, String value) {
+            if (value != null && value.length() < GRAM_SIZE) {
+                shortValues.add(carId);
+            } else {
+                shortValues.remove(carId);
+            }
+        }
+
+        // Both the add and the remove run inside the map's compute methods,
+        // so a posting list is never removed while another car is being added to it.
+        private void post(String gram, Long carId) {
+            postings.compute(gram, (key, posting) -> {
+                Posting ids = posting == null ? new Posting() : posting;
+                ids.add(carId);
+                return ids;
+            });
+        }
+
+        private void unpost(String gram, Long carId) {
+            postings.computeIfPresent(gram, (key, posting) -> posting.remove(carId) ? null : posting);
+        }
+
+        private static Set<String> grams(String value) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM_SIZE));
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * The posting list of a trigram: the car ids in a sorted array, with room to grow.
+     * The new cars have the highest ids, so they are appended at the end of the array.
+     * The writes are serialized by the postings map, and the reads of the searches are synchronized with them.
+     */
+    private static final class Posting {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int size;
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized boolean contains(long carId) {
+            return Arrays.binarySearch(ids, 0, size, carId) >= 0;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        synchronized void add(long carId) {
+            int index = size == 0 || ids[size - 1] < carId ? size : Arrays.binarySearch(ids, 0, size, carId);
+            if (index >= 0 && index < size) {
+                return;
+            }
+            int insertAt = index < 0 ? -index - 1 : index;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = carId;
+            size++;
+        }
+
+        /**
+         * Remove the car id from the posting list.
+         *
+         * @return true if the posting list is empty.
+         */
+        synchronized boolean remove(long carId) {
+            int index = Arrays.binarySearch(ids, 0, size, carId);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+                if (ids.length > INITIAL_CAPACITY && size < ids.length / 4) {
+                    ids = Arrays.copyOf(ids, Math.max(INITIAL_CAPACITY, ids.length / 2));
+                }
+            }
+            return size == 0;
+        }
+
+        synchronized void trimToSize() {
+            if (size < ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size, 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package cbcoder.dealerwebapp.Cars.services;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarExportFilter;
+import cbcoder.dealerwebapp.Cars.enums.CarExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarExportService interface provides the streaming export of the cars (e.g., the sold cars of the month for the accounts).
+ * The methods are implemented in the CarExportServiceImpl class.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarExportFilter
+ * @see CarExportFormat
+ * @since 2026-10-17
+ */
+public interface CarExportService {
+
+    void exportCars(CarExportFilter filter, CarExportFormat format, OutputStream outputStream) throws IOException;
+}
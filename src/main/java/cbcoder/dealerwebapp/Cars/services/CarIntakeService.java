@@ -0,0 +1,23 @@
+package cbcoder.dealerwebapp.Cars.services;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarIntakeReport;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarIntakeService interface provides the bulk intake of the cars of a delivery manifest (CSV or NDJSON).
+ * The methods are implemented in the CarIntakeServiceImpl class.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarIntakeReport
+ * @since 2026-10-17
+ */
+public interface CarIntakeService {
+
+    CarIntakeReport intake(MultipartFile manifest);
+}
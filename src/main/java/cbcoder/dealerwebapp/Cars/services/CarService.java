@@ -1,12 +1,15 @@
 package cbcoder.dealerwebapp.Cars.services;
 
 import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
-import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
@@ -18,6 +21,8 @@ import java.util.List;
  * to implement the methods for CarService operations on the Car entity.
  * The methods are used to create, update, delete, get, and search for cars.
  * Also, the methods are used to get cars by model, buyer name, and user.
+ * The "After" methods are the cursor (keyset) based versions of the listings,
+ * they receive the opaque cursor of the last car of the previous page and return a Slice without a count query.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -27,6 +32,8 @@ import java.util.List;
 public interface CarService {
     CarDto createCar(CarDto carDto);
 
+    List<CarDto> createCars(List<CarDto> carDtos);
+
     CarDto updateCarToSold(Long carId, CarDto carDto);
 
     Page<CarDto> getAllStockCars(Pageable pageable);
@@ -35,17 +42,29 @@ public interface CarService {
 
     Page<CarDto> getAllCars(Pageable pageable);
 
+    Page<CarDto> getValetingBoard(Set<ValeterStatus> valeterStatus, Pageable pageable);
+
+    Page<CarDto> getWorkshopBoard(Set<WorkshopServiceStatus> workshopServiceStatus, Pageable pageable);
+
     void deleteCar(Long carId);
 
     List<CarDto> getCarByRegNumber(String regNumber);
 
     List<CarDto> getCarByChassisNumber(String chassisNumber);
 
-    Car getCarById(Long carId);
+    CarDto getCarById(Long carId);
 
     Page<CarDto> getCarByModel(Pageable pageable, String model);
 
     List<CarDto> getCarByBuyerName(String buyerName);
 
     Page<CarDto> getCarByUsers(Pageable pageable, User user);
+
+    Slice<CarDto> getAllCarsAfter(String after, int pageSize, String sortBy);
+
+    Slice<CarDto> getAllStockCarsAfter(String after, int pageSize, String sortBy);
+
+    Slice<CarDto> getAllSoldCarsAfter(String after, int pageSize, String sortBy);
+
+    Slice<CarDto> getCarByModelAfter(String model, String after, int pageSize, String sortBy);
 }
@@ -0,0 +1,29 @@
+package cbcoder.dealerwebapp.Cars.services;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarStats;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStatsCheck;
+import cbcoder.dealerwebapp.Cars.stats.CarStatsDelta;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsService interface provides the methods to maintain and read the stock dashboard aggregates.
+ * The methods are implemented in the CarStatsServiceImpl class.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface CarStatsService {
+
+    void apply(CarStatsDelta delta);
+
+    CarStats getStats();
+
+    CarStats rebuild();
+
+    CarStatsCheck check(boolean repair);
+}
@@ -0,0 +1,137 @@
+package cbcoder.dealerwebapp.Cars.services.impl;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.Dtos.CarExportFilter;
+import cbcoder.dealerwebapp.Cars.Dtos.CarListView;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStatusValue;
+import cbcoder.dealerwebapp.Cars.enums.CarExportFormat;
+import cbcoder.dealerwebapp.Cars.enums.CarStatusStorage;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.mappers.CarMapper;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.services.CarExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarExportServiceImpl class implements the CarExportService interface.
+ * The cars are read from a forward-only cursor of CarListView (see CarRepository.streamExportViews), without a count query
+ * and without managed Car entities. The rows are gathered in chunks of the fetch size: the status collections of a chunk
+ * are loaded with one query each (or decoded from the bitmask columns of the rows, with the BITMASK status storage),
+ * and the chunk is written and flushed to the client before the next one is read.
+ * So the memory used by an export does not grow with the number of cars.
+ * The CSV export has the same columns as the bulk intake manifest, so an export can be imported again.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarExportService
+ * @see CarRepository
+ * @since 2026-10-17
+ */
+@Service
+public class CarExportServiceImpl implements CarExportService {
+
+    // Same as the JDBC fetch size of CarRepository.streamExportViews.
+    private static final int CHUNK_SIZE = 1000;
+    // The status sets are written in one CSV cell, e.g. "SERVICE;MOT".
+    private static final String CSV_ARRAY_SEPARATOR = ";";
+
+    private final CarRepository carRepository;
+    private final CarMapper carMapper;
+    private final ObjectWriter csvWriter;
+    private final ObjectWriter ndjsonWriter;
+    private final CarStatusStorage statusStorage;
+
+    public CarExportServiceImpl(CarRepository carRepository, CarMapper carMapper, CsvMapper csvMapper,
+                                ObjectMapper objectMapper,
+                                @Value("${dealer-webapp.cars.status-storage:COLLECTIONS}") CarStatusStorage statusStorage) {
+        this.carRepository = carRepository;
+        this.carMapper = carMapper;
+        this.statusStorage = statusStorage;
+        CsvSchema schema = csvMapper.schemaFor(CarDto.class).withHeader().withArrayElementSeparator(CSV_ARRAY_SEPARATOR);
+        this.csvWriter = csvMapper.writerFor(CarDto.class).with(schema)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.ndjsonWriter = objectMapper.writerFor(CarDto.class).withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Export the cars matching the filter to the output stream, ordered by car id.
+     * The cursor is read in a read-only transaction, which is open while the export is written.
+     *
+     * @param filter       - the filters of the export, the null filters are not applied.
+     * @param format       - the format of the export (CSV with a header row, or one JSON car per line).
+     * @param outputStream - the stream where the export is written, it is not closed.
+     * @throws IOException if the export can not be written (e.g., the client closed the connection).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCars(CarExportFilter filter, CarExportFormat format, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = format == CarExportFormat.CSV ? csvWriter : ndjsonWriter;
+        try (Stream<CarListView> views = carRepository.streamExportViews(filter.carStatus(), filter.handoverFrom(),
+                filter.handoverTo(), filter.model());
+             SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+            Iterator<CarListView> iterator = views.iterator();
+            List<CarListView> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, sequenceWriter);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * This private method loads the status collections of a chunk of cars, with one query each,
+     * and writes the cars of the chunk.
+     *
+     * @param chunk          - the cars of the chunk.
+     * @param sequenceWriter - the writer of the export.
+     * @throws IOException if the chunk can not be written.
+     */
+    private void writeChunk(List<CarListView> chunk, SequenceWriter sequenceWriter) throws IOException {
+        if (statusStorage == CarStatusStorage.BITMASK) {
+            for (CarListView view : chunk) {
+                sequenceWriter.write(carMapper.toDto(view, view.workshopServiceStatusMask(), view.valeterStatusMask()));
+            }
+            sequenceWriter.flush();
+            return;
+        }
+        List<Long> carIds = chunk.stream().map(CarListView::carId).toList();
+        Map<Long, Set<WorkshopServiceStatus>> workshopServiceStatus =
+                groupByCarId(carRepository.findWorkshopServiceStatusByCarIdIn(carIds));
+        Map<Long, Set<ValeterStatus>> valeterStatus = groupByCarId(carRepository.findValeterStatusByCarIdIn(carIds));
+        for (CarListView view : chunk) {
+            sequenceWriter.write(carMapper.toDto(view,
+                    workshopServiceStatus.getOrDefault(view.carId(), Set.of()),
+                    valeterStatus.getOrDefault(view.carId(), Set.of())));
+        }
+        sequenceWriter.flush();
+    }
+
+    private static <E extends Enum<E>> Map<Long, Set<E>> groupByCarId(List<CarStatusValue<E>> values) {
+        return values.stream().collect(Collectors.groupingBy(CarStatusValue::carId,
+                Collectors.mapping(CarStatusValue::status, Collectors.toSet())));
+    }
+}
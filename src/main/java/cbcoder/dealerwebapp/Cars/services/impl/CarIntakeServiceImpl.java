@@ -0,0 +1,277 @@
+package cbcoder.dealerwebapp.Cars.services.impl;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.Dtos.CarIntakeReport;
+import cbcoder.dealerwebapp.Cars.Dtos.CarIntakeRowResult;
+import cbcoder.dealerwebapp.Cars.enums.CarIntakeStatus;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.services.CarIntakeService;
+import cbcoder.dealerwebapp.Cars.services.CarService;
+import cbcoder.dealerwebapp.exceptions.CarAlreadyExistsException;
+import cbcoder.dealerwebapp.exceptions.InvalidManifestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarIntakeServiceImpl class implements the CarIntakeService interface.
+ * The manifest is read row by row with a Jackson MappingIterator, so it is never loaded as a whole in memory.
+ * The valid rows are gathered in chunks of the intake chunk size. For each chunk, the reg numbers and chassis numbers
+ * already in the database are found with one query each, and the other cars are created with CarService.createCars,
+ * which inserts them in JDBC batches in a transaction of the chunk.
+ * A row which is not valid, or is a duplicate, does not stop the intake: it is reported in the CarIntakeReport.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarIntakeService
+ * @see CarService
+ * @since 2026-10-17
+ */
+@Service
+public class CarIntakeServiceImpl implements CarIntakeService {
+
+    // The status sets are written in one CSV cell, e.g. "SERVICE;MOT".
+    private static final String CSV_ARRAY_SEPARATOR = ";";
+    private static final Set<String> CSV_CONTENT_TYPES = Set.of("text/csv", "application/csv");
+    private static final Set<String> NDJSON_CONTENT_TYPES = Set.of("application/x-ndjson", "application/jsonl");
+
+    private final CarService carService;
+    private final CarRepository carRepository;
+    private final CsvMapper csvMapper;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public CarIntakeServiceImpl(CarService carService, CarRepository carRepository, CsvMapper csvMapper,
+                                ObjectMapper objectMapper,
+                                @Value("${dealer-webapp.cars.intake.chunk-size:500}") int chunkSize) {
+        this.carService = carService;
+        this.carRepository = carRepository;
+        this.csvMapper = csvMapper;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create the cars of a delivery manifest.
+     * The manifest is a CSV file with a header row, or a NDJSON file with one car per line.
+     * The format is chosen by the file extension (.csv, .ndjson or .jsonl) or, if there is no extension, by the content type.
+     * The cars without status are created as STOCK cars.
+     * The rows are reported as INVALID when they can not be read or miss a required field,
+     * as DUPLICATE when the reg number or chassis number is repeated in the manifest or already exists,
+     * and as FAILED when the insert of their chunk fails.
+     *
+     * @param manifest - the manifest file uploaded by the client.
+     * @return CarIntakeReport - the totals and the result of every row of the manifest.
+     * @throws InvalidManifestException if the manifest is empty, the format is not supported or the file can not be read.
+     */
+    @Override
+    public CarIntakeReport intake(MultipartFile manifest) {
+        if (manifest == null || manifest.isEmpty()) {
+            throw new InvalidManifestException("The manifest file is empty");
+        }
+        List<CarIntakeRowResult> results = new ArrayList<>();
+        Set<String> regNumbers = new HashSet<>();
+        Set<String> chassisNumbers = new HashSet<>();
+        Map<Integer, CarDto> chunk = new LinkedHashMap<>();
+        int row = 0;
+        try (InputStream inputStream = manifest.getInputStream();
+             MappingIterator<CarDto> iterator = openManifest(manifest, inputStream)) {
+            while (hasNextRow(iterator, row)) {
+                row++;
+                CarDto carDto;
+                try {
+                    carDto = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    results.add(new CarIntakeRowResult(row, null, CarIntakeStatus.INVALID, null, e.getOriginalMessage()));
+                    continue;
+                } catch (RuntimeJsonMappingException e) {
+                    results.add(new CarIntakeRowResult(row, null, CarIntakeStatus.INVALID, null, e.getMessage()));
+                    continue;
+                }
+                String missingField = findMissingField(carDto);
+                if (missingField != null) {
+                    results.add(new CarIntakeRowResult(row, carDto.getRegNumber(), CarIntakeStatus.INVALID, null,
+                            "Missing " + missingField));
+                    continue;
+                }
+                normalizeNumbers(carDto);
+                if (!regNumbers.add(carDto.getRegNumber())) {
+                    results.add(duplicate(row, carDto, "Car is repeated with reg number: " + carDto.getRegNumber()));
+                    continue;
+                }
+                if (!chassisNumbers.add(carDto.getChassisNumber())) {
+                    results.add(duplicate(row, carDto, "Car is repeated with chassis number: " + carDto.getChassisNumber()));
+                    continue;
+                }
+                if (carDto.getCarStatus() == null) {
+                    carDto.setCarStatus(CarStatus.STOCK);
+                }
+                chunk.put(row, carDto);
+                if (chunk.size() == chunkSize) {
+                    createChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+            createChunk(chunk, results);
+        } catch (IOException e) {
+            throw new InvalidManifestException("The manifest file can not be read: " + e.getMessage());
+        }
+        results.sort(Comparator.comparingInt(CarIntakeRowResult::row));
+        int created = (int) results.stream().filter(result -> result.status() == CarIntakeStatus.CREATED).count();
+        return new CarIntakeReport(row, created, row - created, results);
+    }
+
+    /**
+     * This private method opens the iterator over the cars of the manifest, in the format of the manifest.
+     *
+     * @param manifest    - the manifest file uploaded by the client.
+     * @param inputStream - the content of the manifest.
+     * @return MappingIterator<CarDto> - the iterator over the rows of the manifest.
+     * @throws InvalidManifestException if the format of the manifest is not supported.
+     */
+    private MappingIterator<CarDto> openManifest(MultipartFile manifest, InputStream inputStream) throws IOException {
+        String filename = Optional.ofNullable(manifest.getOriginalFilename()).orElse("").toLowerCase(Locale.ROOT);
+        String contentType = Optional.ofNullable(manifest.getContentType()).orElse("").toLowerCase(Locale.ROOT);
+        if (filename.endsWith(".csv") || CSV_CONTENT_TYPES.contains(contentType)) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader().withArrayElementSeparator(CSV_ARRAY_SEPARATOR);
+            return csvMapper.readerFor(CarDto.class).with(schema).readValues(inputStream);
+        }
+        if (filename.endsWith(".ndjson") || filename.endsWith(".jsonl") || NDJSON_CONTENT_TYPES.contains(contentType)) {
+            return objectMapper.readerFor(CarDto.class).readValues(inputStream);
+        }
+        throw new InvalidManifestException("The manifest must be a CSV (.csv) or NDJSON (.ndjson, .jsonl) file");
+    }
+
+    /**
+     * This private method checks if there is another row in the manifest.
+     * A row which can not be bound to a car is skipped by the iterator, but a broken file (e.g. a JSON line which is not
+     * closed) can not be read any further, so the intake is stopped.
+     *
+     * @param iterator - the iterator over the rows of the manifest.
+     * @param row      - the number of the last row read.
+     * @return true if there is another row.
+     * @throws InvalidManifestException if the manifest can not be read after the given row.
+     */
+    private boolean hasNextRow(MappingIterator<CarDto> iterator, int row) {
+        try {
+            return iterator.hasNextValue();
+        } catch (IOException | RuntimeJsonMappingException e) {
+            throw new InvalidManifestException("The manifest can not be read after row " + row + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * This private method finds the first required field missing in a row of the manifest.
+     *
+     * @param carDto - the car of the row.
+     * @return the name of the missing field, or null if the row has all the required fields.
+     */
+    private String findMissingField(CarDto carDto) {
+        if (isBlank(carDto.getMake())) {
+            return "make";
+        }
+        if (isBlank(carDto.getModel())) {
+            return "model";
+        }
+        if (isBlank(carDto.getColor())) {
+            return "color";
+        }
+        if (isBlank(carDto.getRegNumber())) {
+            return "regNumber";
+        }
+        if (isBlank(carDto.getChassisNumber())) {
+            return "chassisNumber";
+        }
+        return null;
+    }
+
+    /**
+     * This private method converts the reg number and the chassis number of a row to upper case, as the Car entity stores them,
+     * so a car repeated (or already existing) with a different case is reported as DUPLICATE before its chunk is inserted.
+     *
+     * @param carDto - the car of the row.
+     */
+    private static void normalizeNumbers(CarDto carDto) {
+        carDto.setRegNumber(carDto.getRegNumber().toUpperCase());
+        carDto.setChassisNumber(carDto.getChassisNumber().toUpperCase());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static CarIntakeRowResult duplicate(int row, CarDto carDto, String message) {
+        return new CarIntakeRowResult(row, carDto.getRegNumber(), CarIntakeStatus.DUPLICATE, null, message);
+    }
+
+    /**
+     * This private method creates the cars of a chunk of the manifest.
+     * The reg numbers and chassis numbers of the chunk which already exist are found with one query each,
+     * and those rows are reported as DUPLICATE. The other cars are created in one batched transaction.
+     * If the transaction fails (e.g. a car with the same reg number was created meanwhile, or any other database error),
+     * the rows of the chunk are reported as FAILED, and the intake goes on with the next chunk,
+     * so the rows of the chunks already created are still reported.
+     *
+     * @param chunk   - the cars of the chunk, by row number.
+     * @param results - the results of the manifest, the results of the chunk are added to it.
+     */
+    private void createChunk(Map<Integer, CarDto> chunk, List<CarIntakeRowResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> existingRegNumbers = new HashSet<>(carRepository.findExistingRegNumbers(
+                chunk.values().stream().map(CarDto::getRegNumber).toList()));
+        Set<String> existingChassisNumbers = new HashSet<>(carRepository.findExistingChassisNumbers(
+                chunk.values().stream().map(CarDto::getChassisNumber).toList()));
+        List<Integer> rows = new ArrayList<>(chunk.size());
+        List<CarDto> cars = new ArrayList<>(chunk.size());
+        chunk.forEach((row, carDto) -> {
+            if (existingRegNumbers.contains(carDto.getRegNumber())) {
+                results.add(duplicate(row, carDto, "Car already exists with reg number: " + carDto.getRegNumber()));
+            } else if (existingChassisNumbers.contains(carDto.getChassisNumber())) {
+                results.add(duplicate(row, carDto, "Car already exists with chassis number: " + carDto.getChassisNumber()));
+            } else {
+                rows.add(row);
+                cars.add(carDto);
+            }
+        });
+        if (cars.isEmpty()) {
+            return;
+        }
+        try {
+            List<CarDto> createdCars = carService.createCars(cars);
+            for (int i = 0; i < createdCars.size(); i++) {
+                CarDto createdCar = createdCars.get(i);
+                results.add(new CarIntakeRowResult(rows.get(i), createdCar.getRegNumber(), CarIntakeStatus.CREATED,
+                        createdCar.getCarId(), null));
+            }
+        } catch (CarAlreadyExistsException e) {
+            failChunk(rows, cars, e.getMessage(), results);
+        } catch (DataAccessException e) {
+            failChunk(rows, cars, "The cars of the chunk could not be saved", results);
+        }
+    }
+
+    private static void failChunk(List<Integer> rows, List<CarDto> cars, String message, List<CarIntakeRowResult> results) {
+        for (int i = 0; i < cars.size(); i++) {
+            results.add(new CarIntakeRowResult(rows.get(i), cars.get(i).getRegNumber(), CarIntakeStatus.FAILED, null, message));
+        }
+    }
+}
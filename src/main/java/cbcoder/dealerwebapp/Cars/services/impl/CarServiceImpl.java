@@ -1,26 +1,53 @@
 package cbcoder.dealerwebapp.Cars.services.impl;
 
+import cbcoder.dealerwebapp.Cars.Dtos.CarCursor;
 import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.Dtos.CarListView;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStatusValue;
+import cbcoder.dealerwebapp.Cars.cache.CarDetailCache;
+import cbcoder.dealerwebapp.Cars.converters.EnumSetBitmaskConverter;
+import cbcoder.dealerwebapp.Cars.enums.CarChangeType;
+import cbcoder.dealerwebapp.Cars.enums.CarSearchField;
 import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.CarStatusStorage;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.events.CarChangedEvent;
+import cbcoder.dealerwebapp.Cars.mappers.CarMapper;
 import cbcoder.dealerwebapp.Cars.model.Car;
 import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.search.CarSearchIndex;
 import cbcoder.dealerwebapp.Cars.services.CarService;
+import cbcoder.dealerwebapp.Cars.services.CarStatsService;
+import cbcoder.dealerwebapp.Cars.stats.CarStatsDelta;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
 import cbcoder.dealerwebapp.exceptions.CarAlreadyExistsException;
 import cbcoder.dealerwebapp.exceptions.CarNotFoundException;
+import cbcoder.dealerwebapp.exceptions.CarUpdateConflictException;
+import cbcoder.dealerwebapp.exceptions.InvalidCursorException;
 import cbcoder.dealerwebapp.exceptions.UserNotFoundException;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
@@ -31,28 +58,71 @@ import java.util.Optional;
  * CarServiceImpl class implements the CarService interface.
  * It provides the implementation for the methods declared in the CarService interface.
  * Use the CarRepository and UserRepository
- * to interact with the database and the ModelMapper to map the entities to DTOs and vice versa.
+ * to interact with the database and the CarMapper to map the entities to DTOs and vice versa.
  * The methods are annotated with @Transactional to ensure that the operations are atomic.
+ * The searches by reg number, chassis number and buyer name are answered by the CarSearchIndex,
+ * which is kept in sync when a car is created, updated or deleted.
+ * The createCars method is the bulk path of the car intake: it checks the duplicates of a whole chunk of cars at once,
+ * and inserts the chunk with JDBC batching (the car ids are allocated by the pooled cars_seq sequence).
+ * The listings of all, stock and sold cars, and their keyset (scroll) versions, read the CarListView projection
+ * in read-only transactions, so they don't hydrate managed Car entities.
+ * The update to sold is protected by the version of the car (optimistic locking) and retried on a lost race,
+ * see updateCarToSold.
+ * Every created, updated or deleted car is published as a CarChangedEvent,
+ * and the car details by id are read through the CarDetailCache, which is evicted by those events.
+ * The status sets of the listings and of the car details are read from the status collections or from the status
+ * bitmask columns, depending on the status storage (see CarStatusStorage). The valeting and workshop boards
+ * always filter the stock cars by a bit test on the bitmask columns.
+ * The cars created, sold and deleted are added to the stock dashboard aggregates in the same transaction
+ * (see CarStatsService), an updated car being removed from its group before it is changed and added after.
+ * The methods are recorded as the "cars.service" timer, tagged by method (see MetricsConfig).
  *
  * @author Cleber Balbinote
  * @version 1.0
  * @see CarService
  * @see CarRepository
  * @see UserRepository
- * @see ModelMapper
+ * @see CarMapper
+ * @see CarSearchIndex
+ * @see CarDetailCache
+ * @see CarStatsService
  * @since 2024-06-27
  */
 @Service
+@Timed(value = "cars.service", histogram = true)
 public class CarServiceImpl implements CarService {
 
     private final CarRepository carRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final CarMapper carMapper;
+    private final CarSearchIndex carSearchIndex;
+    private final EntityManager entityManager;
+    private final CarDetailCache carDetailCache;
+    private final CarStatsService carStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxUpdateAttempts;
+    private final CarStatusStorage statusStorage;
 
-    public CarServiceImpl(CarRepository carRepository, UserRepository userRepository, ModelMapper modelMapper) {
+    public CarServiceImpl(CarRepository carRepository, UserRepository userRepository, CarMapper carMapper,
+                          CarSearchIndex carSearchIndex, EntityManager entityManager, CarDetailCache carDetailCache,
+                          CarStatsService carStatsService, ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                          @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                          @Value("${dealer-webapp.cars.update.max-attempts:3}") int maxUpdateAttempts,
+                          @Value("${dealer-webapp.cars.status-storage:COLLECTIONS}") CarStatusStorage statusStorage) {
         this.carRepository = carRepository;
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.carMapper = carMapper;
+        this.carSearchIndex = carSearchIndex;
+        this.entityManager = entityManager;
+        this.carDetailCache = carDetailCache;
+        this.carStatsService = carStatsService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxUpdateAttempts = maxUpdateAttempts;
+        this.statusStorage = statusStorage;
     }
 
     /**
@@ -73,7 +143,7 @@ public class CarServiceImpl implements CarService {
     @Override
     @Transactional
     public CarDto createCar(cbcoder.dealerwebapp.Cars.Dtos.CarDto carDto) {
-        Car car = modelMapper.map(carDto, Car.class);
+        Car car = carMapper.toEntity(carDto);
         var authentication = getAuthentication();
         User user = userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
@@ -87,12 +157,85 @@ public class CarServiceImpl implements CarService {
         Car savedCar = carRepository.save(car);
         user.getCars().add(savedCar);
         userRepository.save(user);
-        CarDto carDto1 = modelMapper.map(savedCar, CarDto.class);
-        if (!car.getUsers().isEmpty()) {
-            carDto1.setUserId(car.getUsers().iterator().next().getUserId());
+        carSearchIndex.index(savedCar);
+        carStatsService.apply(CarStatsDelta.created(savedCar));
+        eventPublisher.publishEvent(new CarChangedEvent(savedCar.getCarId(), CarChangeType.CREATED));
+        return carMapper.toDto(savedCar);
+
+    }
+
+    /**
+     * Create many cars at once and save them to the database (e.g., the delivery of a truck).
+     * Get the authenticated user once and add it to every car.
+     * The cars are processed in chunks of the JDBC batch size. For each chunk,
+     * the duplicated reg numbers and chassis numbers are checked with one query each,
+     * the cars are inserted in JDBC batches, and the persistence context is flushed and cleared,
+     * so the memory used does not grow with the number of cars.
+     * The cars are created in a single transaction, so if one car already exists, none of the cars is created.
+     *
+     * @param carDtos - the details of the cars to be created.
+     * @return List<CarDto> - the created cars.
+     * @throws UserNotFoundException     if the user is not found in the database.
+     * @throws CarAlreadyExistsException if a car already exists, or is repeated, with the reg number or chassis number.
+     */
+    @Override
+    @Transactional
+    public List<CarDto> createCars(List<CarDto> carDtos) {
+        var authentication = getAuthentication();
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        Set<String> regNumbers = new HashSet<>();
+        Set<String> chassisNumbers = new HashSet<>();
+        List<CarDto> createdCars = new ArrayList<>(carDtos.size());
+        CarStatsDelta statsDelta = new CarStatsDelta();
+        for (int from = 0; from < carDtos.size(); from += batchSize) {
+            List<Car> cars = carDtos.subList(from, Math.min(from + batchSize, carDtos.size())).stream()
+                    .map(carMapper::toEntity)
+                    .toList();
+            checkDuplicates(cars, regNumbers, chassisNumbers);
+            cars.forEach(car -> car.getUsers().add(user));
+            List<Car> savedCars = carRepository.saveAll(cars);
+            // Send the batched inserts of the chunk and release the managed cars.
+            entityManager.flush();
+            entityManager.clear();
+            savedCars.forEach(car -> {
+                carSearchIndex.index(car);
+                statsDelta.add(car);
+                eventPublisher.publishEvent(new CarChangedEvent(car.getCarId(), CarChangeType.CREATED));
+                createdCars.add(carMapper.toDto(car));
+            });
         }
-        return carDto1;
+        // One change per group of cars for the whole delivery.
+        carStatsService.apply(statsDelta);
+        return createdCars;
+    }
 
+    /**
+     * This private method checks that the cars of a chunk are not in the database and not repeated in the request.
+     * The reg numbers and chassis numbers of the chunk are checked against the database with one query each.
+     *
+     * @param cars           - the cars of the chunk.
+     * @param regNumbers     - the reg numbers of the previous chunks, the reg numbers of the chunk are added to it.
+     * @param chassisNumbers - the chassis numbers of the previous chunks, the chassis numbers of the chunk are added to it.
+     * @throws CarAlreadyExistsException if a car already exists, or is repeated, with the reg number or chassis number.
+     */
+    private void checkDuplicates(List<Car> cars, Set<String> regNumbers, Set<String> chassisNumbers) {
+        for (Car car : cars) {
+            if (!regNumbers.add(car.getRegNumber())) {
+                throw new CarAlreadyExistsException("Car is repeated with reg number: " + car.getRegNumber());
+            }
+            if (!chassisNumbers.add(car.getChassisNumber())) {
+                throw new CarAlreadyExistsException("Car is repeated with chassis number: " + car.getChassisNumber());
+            }
+        }
+        List<String> existingRegNumbers = carRepository.findExistingRegNumbers(cars.stream().map(Car::getRegNumber).toList());
+        if (!existingRegNumbers.isEmpty()) {
+            throw new CarAlreadyExistsException("Car already exists with reg number: " + existingRegNumbers.getFirst());
+        }
+        List<String> existingChassisNumbers = carRepository.findExistingChassisNumbers(cars.stream().map(Car::getChassisNumber).toList());
+        if (!existingChassisNumbers.isEmpty()) {
+            throw new CarAlreadyExistsException("Car already exists with chassis number: " + existingChassisNumbers.getFirst());
+        }
     }
 
     /**
@@ -121,23 +264,63 @@ public class CarServiceImpl implements CarService {
      * If the user is not found, throw an exception.
      * If the user is not authenticated, throw an exception.
      * If the car is saved successfully, return the CarDto.
+     * The car is protected by its version (optimistic lock), no row lock is held:
+     * if the CarDto has the version read by the client, and the car was changed since (e.g., sold by another salesperson),
+     * the update is rejected with a conflict. If the CarDto has no version, the car is expected to be in stock:
+     * an update of a car which is no longer in stock (e.g., sold meanwhile) is rejected with a conflict, so a car is
+     * never sold twice. An update which lost the race with a concurrent update (e.g., of the status collections)
+     * is retried on the new state of the car, in a new transaction, up to the maximum attempts.
      *
      * @param carId  - the car id to be updated.
      * @param carDto - the car details to be updated.
      * @return CarDto - the updated car.
-     * @throws UserNotFoundException if the user is not found in the database.
-     * @throws CarNotFoundException  if the car is not found in the database.
+     * @throws UserNotFoundException       if the user is not found in the database.
+     * @throws CarNotFoundException        if the car is not found in the database.
+     * @throws CarUpdateConflictException if the car was changed by another request and the update can not be applied.
      */
     @Override
     public CarDto updateCarToSold(Long carId, CarDto carDto) {
-        var authentication = getAuthentication();
-        User user = userRepository.findByEmail(authentication.getName())
+        String email = getAuthentication().getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> sellCar(carId, carDto, email));
+            } catch (OptimisticLockingFailureException e) {
+                if (carDto.getVersion() != null || attempt >= maxUpdateAttempts) {
+                    throw new CarUpdateConflictException("Car with id " + carId
+                            + " was changed by another user, reload it and try again");
+                }
+            }
+        }
+    }
+
+    /**
+     * This private method applies the update to sold of a car, in the transaction of one attempt.
+     *
+     * @param carId  - the car id to be updated.
+     * @param carDto - the car details to be updated.
+     * @param email  - the email of the authenticated user.
+     * @return CarDto - the updated car.
+     * @throws CarUpdateConflictException if the version sent by the client is not the version of the car,
+     *                                    or if no version is sent and the car is no longer in stock.
+     */
+    private CarDto sellCar(Long carId, CarDto carDto, String email) {
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         Optional<Car> optionalCar = carRepository.findByCarId(carId);
         if (optionalCar.isEmpty()) {
             throw new CarNotFoundException("Car not found with id: " + carId);
         } else {
             Car car = optionalCar.get();
+            if (carDto.getVersion() != null && !carDto.getVersion().equals(car.getVersion())) {
+                throw new CarUpdateConflictException("Car with id " + carId
+                        + " was changed by another user, reload it and try again");
+            }
+            // Without a version, re-check the state of the row read by this attempt: a retry must not sell it again.
+            if (carDto.getVersion() == null && car.getCarStatus() != CarStatus.STOCK) {
+                throw new CarUpdateConflictException("Car with id " + carId
+                        + " is no longer in stock, reload it and try again");
+            }
+            CarStatsDelta statsDelta = new CarStatsDelta().remove(car);
             car.setHandoverDate(carDto.getHandoverDate());
             car.setCarStatus(CarStatus.SOLD);
             car.setBuyerName(carDto.getBuyerName());
@@ -150,9 +333,12 @@ public class CarServiceImpl implements CarService {
             Car savedCar = carRepository.save(car);
             user.getCars().add(savedCar);
             userRepository.save(user);
-            CarDto updatedCarDto = modelMapper.map(savedCar, CarDto.class);
-            updatedCarDto.setUserId(user.getUserId());
-            return updatedCarDto;
+            // Send the update now, so a lost race fails this attempt before the car is indexed and mapped.
+            carRepository.flush();
+            carSearchIndex.index(savedCar);
+            carStatsService.apply(statsDelta.add(savedCar));
+            eventPublisher.publishEvent(new CarChangedEvent(carId, CarChangeType.UPDATED));
+            return carMapper.toDto(savedCar);
         }
     }
 
@@ -167,9 +353,10 @@ public class CarServiceImpl implements CarService {
      * @return Page<CarDto> - the cars with the stock status.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<CarDto> getAllStockCars(Pageable pageable) {
-        Page<Car> car = carRepository.findAllByCarStatus(CarStatus.STOCK, pageable);
-        return getCarDtos(car);
+        Page<CarListView> car = carRepository.findAllListViewsByCarStatus(CarStatus.STOCK, pageable);
+        return getCarListDtos(car);
     }
 
     /**
@@ -183,9 +370,10 @@ public class CarServiceImpl implements CarService {
      * @return Page<CarDto> - the cars with the sold status.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<CarDto> getAllSoldCars(Pageable pageable) {
-        Page<Car> car = carRepository.findAllByCarStatus(CarStatus.SOLD, pageable);
-        return getCarDtos(car);
+        Page<CarListView> car = carRepository.findAllListViewsByCarStatus(CarStatus.SOLD, pageable);
+        return getCarListDtos(car);
     }
 
     /**
@@ -195,12 +383,7 @@ public class CarServiceImpl implements CarService {
      * @return Page<CarDto> - the cars with the workshop service status.
      */
     private Page<CarDto> getCarDtos(Page<Car> car) {
-        return car.map(car1 -> {
-            CarDto carDto = modelMapper.map(car1, CarDto.class);
-            User user = car1.getUsers().iterator().next();
-            carDto.setUserId(user.getUserId());
-            return carDto;
-        });
+        return car.map(carMapper::toDto);
     }
 
     /**
@@ -211,9 +394,97 @@ public class CarServiceImpl implements CarService {
      * @return Page<CarDto> - the cars.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<CarDto> getAllCars(Pageable pageable) {
-        Page<Car> car = carRepository.findAll(pageable);
-        return getCarDtos(car);
+        Page<CarListView> car = carRepository.findAllListViews(pageable);
+        return getCarListDtos(car);
+    }
+
+    /**
+     * Get the stock cars with all the given valeter statuses pending, ordered by car id.
+     * With no status, get the stock cars with any valeter status pending.
+     *
+     * @param valeterStatus - the valeter statuses the cars must have.
+     * @param pageable      - the pagination information for the cars, the sort is ignored.
+     * @return Page<CarDto> - a page of stock cars.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CarDto> getValetingBoard(Set<ValeterStatus> valeterStatus, Pageable pageable) {
+        return getBoardDtos(carRepository.findStockCarIdsByValeterStatusMask(
+                EnumSetBitmaskConverter.toMask(valeterStatus), unsorted(pageable)));
+    }
+
+    /**
+     * Get the stock cars with all the given workshop service statuses pending, ordered by car id.
+     * With no status, get the stock cars with any workshop service status pending.
+     *
+     * @param workshopServiceStatus - the workshop service statuses the cars must have.
+     * @param pageable              - the pagination information for the cars, the sort is ignored.
+     * @return Page<CarDto> - a page of stock cars.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CarDto> getWorkshopBoard(Set<WorkshopServiceStatus> workshopServiceStatus, Pageable pageable) {
+        return getBoardDtos(carRepository.findStockCarIdsByWorkshopServiceStatusMask(
+                EnumSetBitmaskConverter.toMask(workshopServiceStatus), unsorted(pageable)));
+    }
+
+    /**
+     * This private method loads the list views of a page of car ids found by a board query, in the order of the page.
+     *
+     * @return Page<CarDto> - the cars of the page.
+     */
+    private Page<CarDto> getBoardDtos(Page<Long> carIds) {
+        List<CarListView> views = carIds.isEmpty() ? List.of() : carRepository.findListViewsByCarIdIn(carIds.getContent());
+        return getCarListDtos(new PageImpl<>(views, carIds.getPageable(), carIds.getTotalElements()));
+    }
+
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * This private method maps a page of CarListView to CarDto.
+     * The workshop service status and valeter status are decoded from the bitmask columns of the views,
+     * or, with the COLLECTIONS status storage, loaded for the whole page with one query each.
+     *
+     * @return Page<CarDto> - the cars of the page.
+     */
+    private Page<CarDto> getCarListDtos(Page<CarListView> car) {
+        return car.map(listViewMapper(car));
+    }
+
+    /**
+     * This private method builds the mapper of the CarListView of a page or a slice to CarDto.
+     * With the COLLECTIONS status storage, the status collections of all the cars are loaded first, with one query each.
+     *
+     * @return Function<CarListView, CarDto> - the mapper of the list views.
+     */
+    private Function<CarListView, CarDto> listViewMapper(Slice<CarListView> car) {
+        if (statusStorage == CarStatusStorage.BITMASK) {
+            return view -> carMapper.toDto(view, view.workshopServiceStatusMask(), view.valeterStatusMask());
+        }
+        if (car.isEmpty()) {
+            return view -> carMapper.toDto(view, Set.of(), Set.of());
+        }
+        List<Long> carIds = car.map(CarListView::carId).getContent();
+        Map<Long, Set<WorkshopServiceStatus>> workshopServiceStatus =
+                groupByCarId(carRepository.findWorkshopServiceStatusByCarIdIn(carIds));
+        Map<Long, Set<ValeterStatus>> valeterStatus = groupByCarId(carRepository.findValeterStatusByCarIdIn(carIds));
+        return view -> carMapper.toDto(view,
+                workshopServiceStatus.getOrDefault(view.carId(), Set.of()),
+                valeterStatus.getOrDefault(view.carId(), Set.of()));
+    }
+
+    /**
+     * This private method groups the status values loaded for a page by car id.
+     *
+     * @return Map<Long, Set<E>> - the status values of each car.
+     */
+    private static <E extends Enum<E>> Map<Long, Set<E>> groupByCarId(List<CarStatusValue<E>> values) {
+        return values.stream().collect(Collectors.groupingBy(CarStatusValue::carId,
+                Collectors.mapping(CarStatusValue::status, Collectors.toSet())));
     }
 
     /**
@@ -235,11 +506,15 @@ public class CarServiceImpl implements CarService {
             Car car = optionalCar.get();
             car.getUsers().clear();
             carRepository.delete(car);
+            carSearchIndex.remove(carId);
+            carStatsService.apply(CarStatsDelta.deleted(car));
+            eventPublisher.publishEvent(new CarChangedEvent(carId, CarChangeType.DELETED));
         }
     }
 
     /**
      * Get a car from the database by the reg number.
+     * The car ids are looked up in the CarSearchIndex, falling back to the database while the index is not ready.
      * Map the car to CarDto and return it.
      * If the car is not found, throw an exception.
      *
@@ -252,20 +527,16 @@ public class CarServiceImpl implements CarService {
         if (regNumber.isBlank()) {
             throw new CarNotFoundException("Please provide a reg number");
         }
-        return carRepository.findByRegNumberContainingIgnoreCase(regNumber)
-                .map(cars -> {
-                    return cars.stream().map(car -> {
-                        CarDto carDto = modelMapper.map(car, CarDto.class);
-                        if (!car.getUsers().isEmpty()) {
-                            carDto.setUserId(car.getUsers().iterator().next().getUserId());
-                        }
-                        return carDto;
-                    }).toList();
-                }).orElseThrow(() -> new CarNotFoundException("Car not found with reg number: " + regNumber));
+        return carSearchIndex.search(CarSearchField.REG_NUMBER, regNumber)
+                .map(this::getCarDtosByIds)
+                .orElseGet(() -> carRepository.findByRegNumberContainingIgnoreCase(regNumber)
+                        .map(this::getCarDtos)
+                        .orElseThrow(() -> new CarNotFoundException("Car not found with reg number: " + regNumber)));
     }
 
     /**
      * Get a car from the database by the chassis number.
+     * The car ids are looked up in the CarSearchIndex, falling back to the database while the index is not ready.
      * Map the car to CarDto and return it.
      * If the car is not found, throw an exception.
      *
@@ -278,31 +549,60 @@ public class CarServiceImpl implements CarService {
         if (chassisNumber.isBlank()) {
             throw new CarNotFoundException("Please provide a chassis number");
         }
-        return carRepository.findByChassisNumberContainingIgnoreCase(chassisNumber)
-                .map(cars -> {
-                    return cars.stream().map(car -> {
-                        CarDto carDto = modelMapper.map(car, CarDto.class);
-                        if (!car.getUsers().isEmpty()) {
-                            carDto.setUserId(car.getUsers().iterator().next().getUserId());
-                        }
-                        return carDto;
-                    }).toList();
-                }).orElseThrow(() -> new CarNotFoundException("Car not found with chassis number: " + chassisNumber));
+        return carSearchIndex.search(CarSearchField.CHASSIS_NUMBER, chassisNumber)
+                .map(this::getCarDtosByIds)
+                .orElseGet(() -> carRepository.findByChassisNumberContainingIgnoreCase(chassisNumber)
+                        .map(this::getCarDtos)
+                        .orElseThrow(() -> new CarNotFoundException("Car not found with chassis number: " + chassisNumber)));
     }
 
     /**
-     * Get a car from the database by the model.
-     * Map the car to CarDto and return it.
+     * This private method loads the cars found by the CarSearchIndex and maps them to CarDto.
+     * The cars are returned in the same order as the ids (ascending car id).
+     *
+     * @param carIds - the ids of the cars found by the search index.
+     * @return List<CarDto> - the cars with the given ids.
+     */
+    private List<CarDto> getCarDtosByIds(List<Long> carIds) {
+        if (carIds.isEmpty()) {
+            return List.of();
+        }
+        List<Car> cars = carRepository.findAllByCarIdIn(carIds).stream()
+                .sorted(Comparator.comparing(Car::getCarId))
+                .toList();
+        return getCarDtos(cars);
+    }
+
+    /**
+     * This private method maps a list of cars to CarDto with the userId of the user assigned to the car.
+     *
+     * @param cars - the cars to be mapped.
+     * @return List<CarDto> - the mapped cars.
+     */
+    private List<CarDto> getCarDtos(List<Car> cars) {
+        return cars.stream().map(carMapper::toDto).toList();
+    }
+
+    /**
+     * Get a car by the id.
+     * The car details are read from the CarDetailCache. On a cache miss, the car is loaded from the database
+     * with its users and status collections in a single query, and mapped to CarDto.
      * If the car is not found, throw an exception.
      *
      * @param carId - the car id to be retrieved.
-     * @return Car - the car with the id.
+     * @return CarDto - the car with the id.
      * @throws CarNotFoundException if the car is not found in the database.
      */
     @Override
-    public Car getCarById(Long carId) {
-        return carRepository.findByCarId(carId)
-                .orElseThrow(() -> new CarNotFoundException("Car not found with id: " + carId));
+    public CarDto getCarById(Long carId) {
+        if (statusStorage == CarStatusStorage.BITMASK) {
+            return carDetailCache.get(carId, id -> carRepository.findWithUsersByCarId(id)
+                    .map(carMapper::toDtoFromStatusMasks)
+                    .orElseThrow(() -> new CarNotFoundException("Car not found with id: " + id)));
+        }
+        return carDetailCache.get(carId, id -> carRepository.findDetailByCarId(id)
+                .map(carMapper::toDto)
+                .orElseThrow(() -> new CarNotFoundException("Car not found with id: " + id)));
     }
 
     /**
@@ -325,6 +625,7 @@ public class CarServiceImpl implements CarService {
 
     /**
      * Get the cars or a car from the database by the buyer name.
+     * The car ids are looked up in the CarSearchIndex, falling back to the database while the index is not ready.
      * Map the car to CarDto and return it.
      * If the car is not found, throw an exception.
      *
@@ -337,16 +638,11 @@ public class CarServiceImpl implements CarService {
         if (buyerName.isBlank()) {
             throw new CarNotFoundException("Please provide a buyer name");
         }
-        return carRepository.findByBuyerNameContainingIgnoreCase(buyerName)
-                .map(cars -> {
-                    return cars.stream().map(car -> {
-                        CarDto carDto = modelMapper.map(car, CarDto.class);
-                        if (!car.getUsers().isEmpty()) {
-                            carDto.setUserId(car.getUsers().iterator().next().getUserId());
-                        }
-                        return carDto;
-                    }).toList();
-                }).orElseThrow(() -> new CarNotFoundException("Car not found with buyer name: " + buyerName));
+        return carSearchIndex.search(CarSearchField.BUYER_NAME, buyerName)
+                .map(this::getCarDtosByIds)
+                .orElseGet(() -> carRepository.findByBuyerNameContainingIgnoreCase(buyerName)
+                        .map(this::getCarDtos)
+                        .orElseThrow(() -> new CarNotFoundException("Car not found with buyer name: " + buyerName)));
     }
 
     /**
@@ -367,4 +663,104 @@ public class CarServiceImpl implements CarService {
         Page<Car> car = carRepository.findAllByUsersContainingIgnoreCase(pageable, user);
         return getCarDtos(car);
     }
+
+    /**
+     * Get the next slice of cars after the given cursor.
+     * The cars are read with a keyset (seek) query, so any page costs the same as the first one,
+     * and no count query is executed.
+     *
+     * @param after    - the cursor of the last car of the previous slice, or null for the first slice.
+     * @param pageSize - the number of cars in the slice.
+     * @param sortBy   - the sort key of the slice (carId or dateCreated).
+     * @return Slice<CarDto> - the cars after the cursor.
+     * @throws InvalidCursorException if the cursor or the sort key is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CarDto> getAllCarsAfter(String after, int pageSize, String sortBy) {
+        CarCursor cursor = CarCursor.decode(after, sortBy);
+        Pageable limit = PageRequest.ofSize(pageSize);
+        Slice<CarListView> cars = cursor.isSortedByDateCreated()
+                ? carRepository.findAllListViewsAfterDateCreated(cursor.dateCreated(), cursor.carId(), limit)
+                : carRepository.findAllListViewsAfterCarId(cursor.carId(), limit);
+        return getCarListDtoSlice(cars);
+    }
+
+    /**
+     * Get the next slice of cars with the stock status after the given cursor.
+     *
+     * @param after    - the cursor of the last car of the previous slice, or null for the first slice.
+     * @param pageSize - the number of cars in the slice.
+     * @param sortBy   - the sort key of the slice (carId or dateCreated).
+     * @return Slice<CarDto> - the cars with the stock status after the cursor.
+     * @throws InvalidCursorException if the cursor or the sort key is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CarDto> getAllStockCarsAfter(String after, int pageSize, String sortBy) {
+        return getCarsByStatusAfter(CarStatus.STOCK, after, pageSize, sortBy);
+    }
+
+    /**
+     * Get the next slice of cars with the sold status after the given cursor.
+     *
+     * @param after    - the cursor of the last car of the previous slice, or null for the first slice.
+     * @param pageSize - the number of cars in the slice.
+     * @param sortBy   - the sort key of the slice (carId or dateCreated).
+     * @return Slice<CarDto> - the cars with the sold status after the cursor.
+     * @throws InvalidCursorException if the cursor or the sort key is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CarDto> getAllSoldCarsAfter(String after, int pageSize, String sortBy) {
+        return getCarsByStatusAfter(CarStatus.SOLD, after, pageSize, sortBy);
+    }
+
+    /**
+     * Get the next slice of cars by the model after the given cursor.
+     *
+     * @param model    - the model of the car. (e.g., Yaris)
+     * @param after    - the cursor of the last car of the previous slice, or null for the first slice.
+     * @param pageSize - the number of cars in the slice.
+     * @param sortBy   - the sort key of the slice (carId or dateCreated).
+     * @return Slice<CarDto> - the cars with the model after the cursor.
+     * @throws CarNotFoundException   if the model is blank.
+     * @throws InvalidCursorException if the cursor or the sort key is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CarDto> getCarByModelAfter(String model, String after, int pageSize, String sortBy) {
+        if (model.isBlank()) {
+            throw new CarNotFoundException("Please provide a model");
+        }
+        CarCursor cursor = CarCursor.decode(after, sortBy);
+        Pageable limit = PageRequest.ofSize(pageSize);
+        Slice<CarListView> cars = cursor.isSortedByDateCreated()
+                ? carRepository.findListViewsByModelAfterDateCreated(model, cursor.dateCreated(), cursor.carId(), limit)
+                : carRepository.findListViewsByModelAfterCarId(model, cursor.carId(), limit);
+        return getCarListDtoSlice(cars);
+    }
+
+    /**
+     * This private method gets the next slice of cars with the given status after the cursor.
+     *
+     * @return Slice<CarDto> - the cars with the status after the cursor.
+     */
+    private Slice<CarDto> getCarsByStatusAfter(CarStatus carStatus, String after, int pageSize, String sortBy) {
+        CarCursor cursor = CarCursor.decode(after, sortBy);
+        Pageable limit = PageRequest.ofSize(pageSize);
+        Slice<CarListView> cars = cursor.isSortedByDateCreated()
+                ? carRepository.findAllListViewsByCarStatusAfterDateCreated(carStatus, cursor.dateCreated(), cursor.carId(), limit)
+                : carRepository.findAllListViewsByCarStatusAfterCarId(carStatus, cursor.carId(), limit);
+        return getCarListDtoSlice(cars);
+    }
+
+    /**
+     * This private method maps a slice of CarListView to CarDto, like getCarListDtos does for a page.
+     *
+     * @return Slice<CarDto> - the mapped cars.
+     */
+    private Slice<CarDto> getCarListDtoSlice(Slice<CarListView> car) {
+        return car.map(listViewMapper(car));
+    }
 }
@@ -0,0 +1,220 @@
+package cbcoder.dealerwebapp.Cars.services.impl;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarStats;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStatsCheck;
+import cbcoder.dealerwebapp.Cars.model.CarStockSummary;
+import cbcoder.dealerwebapp.Cars.model.CarStockSummaryId;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.repositories.CarStockSummaryRepository;
+import cbcoder.dealerwebapp.Cars.services.CarStatsService;
+import cbcoder.dealerwebapp.Cars.stats.CarStatsCounters;
+import cbcoder.dealerwebapp.Cars.stats.CarStatsDelta;
+import cbcoder.dealerwebapp.Cars.stats.CarStatsKey;
+import cbcoder.dealerwebapp.Cars.stats.CarStatsTotals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsServiceImpl class implements the CarStatsService interface.
+ * The stock dashboard aggregates are kept in the CAR_STOCK_SUMMARY table and in memory (CarStatsCounters).
+ * CarServiceImpl gathers the changes of a transaction which creates, sells or deletes cars in a CarStatsDelta,
+ * which is added to the summary rows in the same transaction, so the summary is committed or rolled back with the cars,
+ * and to the in-memory counters once the transaction is committed. The stats are read from memory only.
+ * The counters are loaded from the summary when the application is ready, and the summary is rebuilt from the CARS table
+ * when it is empty (e.g., the first start with the summary table).
+ * The summary is checked against the CARS table, and the counters against the summary, at the check interval;
+ * with repair enabled, a wrong summary is rebuilt and wrong counters are reloaded.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStatsService
+ * @see CarStockSummaryRepository
+ * @see CarStatsCounters
+ * @since 2026-10-17
+ */
+@Service
+public class CarStatsServiceImpl implements CarStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(CarStatsServiceImpl.class);
+
+    // The mismatches reported by a check, the others are only counted in the log.
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private final CarStockSummaryRepository carStockSummaryRepository;
+    private final CarRepository carRepository;
+    private final CarStatsCounters carStatsCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean repair;
+
+    public CarStatsServiceImpl(CarStockSummaryRepository carStockSummaryRepository, CarRepository carRepository,
+                               CarStatsCounters carStatsCounters, PlatformTransactionManager transactionManager,
+                               @Value("${dealer-webapp.cars.stats.repair:true}") boolean repair) {
+        this.carStockSummaryRepository = carStockSummaryRepository;
+        this.carRepository = carRepository;
+        this.carStatsCounters = carStatsCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repair = repair;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (carStockSummaryRepository.count() == 0 && carRepository.count() > 0) {
+            rebuild();
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * Add the changes of the cars to the summary, in the transaction of the changes,
+     * and to the in-memory counters once the transaction is committed.
+     * The summary rows are changed in the order of their keys, so two transactions changing the same rows
+     * wait for each other instead of deadlocking.
+     *
+     * @param delta - the changes of the transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(CarStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        delta.changes().forEach((key, change) -> {
+            carStockSummaryRepository.addTotals(key.make(), key.model(), key.color(), key.carStatus().name(),
+                    key.soldMonth(), change.count(), change.createdEpochDays(), change.soldEpochDays());
+            if (change.count() < 0) {
+                carStockSummaryRepository.deleteIfEmpty(key.make(), key.model(), key.color(),
+                        key.carStatus().name(), key.soldMonth());
+            }
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                carStatsCounters.apply(delta);
+            }
+        });
+    }
+
+    /**
+     * Get the stats of the stock dashboard, from memory.
+     *
+     * @return CarStats - the stats.
+     */
+    @Override
+    public CarStats getStats() {
+        return carStatsCounters.stats();
+    }
+
+    /**
+     * Rebuild the summary from scratch, with a GROUP BY query on the CARS table, and reload the in-memory counters.
+     * The summary is locked while it is rebuilt, so the changes of the cars wait for the rebuild,
+     * and are added to the rebuilt summary.
+     *
+     * @return CarStats - the stats of the rebuilt summary.
+     */
+    @Override
+    public CarStats rebuild() {
+        Integer groups = transactionTemplate.execute(status -> {
+            carStockSummaryRepository.lockSummary();
+            carStockSummaryRepository.deleteAllRows();
+            return carStockSummaryRepository.insertFromCars();
+        });
+        logger.info("Rebuilt the car stock summary with {} groups", groups);
+        reload();
+        return carStatsCounters.stats();
+    }
+
+    /**
+     * Check the summary against the CARS table, and the in-memory counters against the summary.
+     * If repair is true, a wrong summary is rebuilt, and wrong counters are reloaded from the summary.
+     *
+     * @param repair - true to repair the aggregates after the check.
+     * @return CarStatsCheck - the groups which do not match.
+     */
+    @Override
+    public CarStatsCheck check(boolean repair) {
+        List<String> summaryMismatches = new ArrayList<>();
+        carStockSummaryRepository.findMismatches().forEach(mismatch -> summaryMismatches.add(
+                describe(mismatch.getMake(), mismatch.getModel(), mismatch.getColor(), mismatch.getCarStatus(),
+                        mismatch.getSoldMonth()) + ": summary " + mismatch.getSummaryCount()
+                        + " cars, CARS table " + mismatch.getCarsCount() + " cars"));
+        Map<CarStatsKey, CarStatsTotals> summary = loadSummary();
+        Map<CarStatsKey, CarStatsTotals> memory = carStatsCounters.totals();
+        List<String> memoryMismatches = new ArrayList<>();
+        Set<CarStatsKey> keys = new HashSet<>(summary.keySet());
+        keys.addAll(memory.keySet());
+        for (CarStatsKey key : keys) {
+            CarStatsTotals inSummary = summary.getOrDefault(key, CarStatsTotals.ZERO);
+            CarStatsTotals inMemory = memory.getOrDefault(key, CarStatsTotals.ZERO);
+            if (!inSummary.equals(inMemory)) {
+                memoryMismatches.add(describe(key.make(), key.model(), key.color(), key.carStatus().name(),
+                        key.soldMonth()) + ": memory " + inMemory.count() + " cars, summary " + inSummary.count() + " cars");
+            }
+        }
+        boolean repaired = false;
+        if (!summaryMismatches.isEmpty() || !memoryMismatches.isEmpty()) {
+            logger.warn("Car stock summary check found {} summary and {} memory mismatches",
+                    summaryMismatches.size(), memoryMismatches.size());
+            if (repair) {
+                if (summaryMismatches.isEmpty()) {
+                    reload();
+                } else {
+                    rebuild();
+                }
+                repaired = true;
+            }
+        }
+        return new CarStatsCheck(limit(summaryMismatches), limit(memoryMismatches), repaired);
+    }
+
+    @Scheduled(initialDelayString = "${dealer-webapp.cars.stats.check-interval:3600000}",
+            fixedDelayString = "${dealer-webapp.cars.stats.check-interval:3600000}")
+    public void scheduledCheck() {
+        check(repair);
+    }
+
+    private void reload() {
+        carStatsCounters.replace(loadSummary());
+    }
+
+    private Map<CarStatsKey, CarStatsTotals> loadSummary() {
+        List<CarStockSummary> rows = carStockSummaryRepository.findAll();
+        Map<CarStatsKey, CarStatsTotals> summary = new HashMap<>(rows.size() * 2);
+        for (CarStockSummary row : rows) {
+            CarStockSummaryId id = row.getId();
+            summary.put(new CarStatsKey(id.getMake(), id.getModel(), id.getColor(), id.getCarStatus(), id.getSoldMonth()),
+                    new CarStatsTotals(row.getCarCount(), row.getCreatedEpochDays(), row.getSoldEpochDays()));
+        }
+        return summary;
+    }
+
+    private static String describe(String make, String model, String color, String carStatus, String soldMonth) {
+        return String.join(" ", make, model, color, carStatus, soldMonth).strip();
+    }
+
+    private static List<String> limit(List<String> mismatches) {
+        return List.copyOf(mismatches.subList(0, Math.min(mismatches.size(), MAX_REPORTED_MISMATCHES)));
+    }
+}
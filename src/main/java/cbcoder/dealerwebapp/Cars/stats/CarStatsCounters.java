@@ -0,0 +1,146 @@
+package cbcoder.dealerwebapp.Cars.stats;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarModelStats;
+import cbcoder.dealerwebapp.Cars.Dtos.CarMonthStats;
+import cbcoder.dealerwebapp.Cars.Dtos.CarStats;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsCounters keeps the stock dashboard aggregates in memory: the totals of every group of cars,
+ * a copy of the CAR_STOCK_SUMMARY table, changed by the deltas of the committed transactions.
+ * The stats are computed from the totals once per change (and per day, as the days in stock of the stock cars grow),
+ * and the same immutable stats are returned until the next change, so reading them is a volatile read.
+ * The totals are replaced when they are loaded or rebuilt from the database. A delta committed while the totals
+ * are read from the database can be counted twice, or not at all, until the totals are loaded again:
+ * the consistency check of CarStatsService compares the totals with the summary table and reloads them.
+ * The number of changes applied is published as the "cars.stats.changes" metric.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStatsDelta
+ * @see CarStats
+ * @since 2026-10-17
+ */
+@Component
+public class CarStatsCounters {
+
+    private volatile Map<CarStatsKey, CarStatsTotals> totals = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public CarStatsCounters(MeterRegistry meterRegistry) {
+        Gauge.builder("cars.stats.changes", version, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Add the changes of a committed transaction to the totals.
+     *
+     * @param delta the changes of the transaction.
+     */
+    public void apply(CarStatsDelta delta) {
+        Map<CarStatsKey, CarStatsTotals> current = totals;
+        delta.changes().forEach((key, change) -> current.merge(key, change, (existing, added) -> {
+            CarStatsTotals merged = existing.plus(added);
+            return merged.isZero() ? null : merged;
+        }));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Replace all the totals, e.g. with the totals loaded from the summary table.
+     *
+     * @param loaded the totals of every group.
+     */
+    public void replace(Map<CarStatsKey, CarStatsTotals> loaded) {
+        totals = new ConcurrentHashMap<>(loaded);
+        version.incrementAndGet();
+    }
+
+    /**
+     * A copy of the totals, to be compared with the summary table.
+     *
+     * @return the totals of every group.
+     */
+    public Map<CarStatsKey, CarStatsTotals> totals() {
+        return new TreeMap<>(totals);
+    }
+
+    /**
+     * The stats of the current totals, computed again only if the totals or the date changed since the last call.
+     *
+     * @return the stats.
+     */
+    public CarStats stats() {
+        long currentVersion = version.get();
+        LocalDate today = LocalDate.now();
+        Snapshot current = snapshot;
+        if (current == null || current.version != currentVersion || !current.stats.date().equals(today)) {
+            current = new Snapshot(currentVersion, compute(today));
+            snapshot = current;
+        }
+        return current.stats;
+    }
+
+    private CarStats compute(LocalDate today) {
+        Map<ModelKey, long[]> byModel = new TreeMap<>(ModelKey.ORDER);
+        Map<String, CarStatsTotals> byMonth = new TreeMap<>();
+        CarStatsTotals stock = CarStatsTotals.ZERO;
+        CarStatsTotals sold = CarStatsTotals.ZERO;
+        for (Map.Entry<CarStatsKey, CarStatsTotals> entry : totals.entrySet()) {
+            CarStatsKey key = entry.getKey();
+            CarStatsTotals groupTotals = entry.getValue();
+            long[] counts = byModel.computeIfAbsent(new ModelKey(key.make(), key.model(), key.color()),
+                    model -> new long[2]);
+            if (key.carStatus() == CarStatus.SOLD) {
+                counts[1] += groupTotals.count();
+                sold = sold.plus(groupTotals);
+                byMonth.merge(key.soldMonth(), groupTotals, CarStatsTotals::plus);
+            } else {
+                counts[0] += groupTotals.count();
+                stock = stock.plus(groupTotals);
+            }
+        }
+        List<CarModelStats> cars = new ArrayList<>(byModel.size());
+        byModel.forEach((model, counts) ->
+                cars.add(new CarModelStats(model.make(), model.model(), model.color(), counts[0], counts[1])));
+        List<CarMonthStats> soldPerMonth = new ArrayList<>(byMonth.size());
+        byMonth.forEach((month, monthTotals) ->
+                soldPerMonth.add(new CarMonthStats(month, monthTotals.count(), averageDaysToSell(monthTotals))));
+        return new CarStats(today, stock.count(), sold.count(), averageDaysInStock(stock, today),
+                averageDaysToSell(sold), List.copyOf(cars), List.copyOf(soldPerMonth));
+    }
+
+    private static double averageDaysInStock(CarStatsTotals stock, LocalDate today) {
+        return stock.count() == 0 ? 0 : today.toEpochDay() - (double) stock.createdEpochDays() / stock.count();
+    }
+
+    private static double averageDaysToSell(CarStatsTotals sold) {
+        return sold.count() == 0 ? 0 : (double) (sold.soldEpochDays() - sold.createdEpochDays()) / sold.count();
+    }
+
+    private record Snapshot(long version, CarStats stats) {
+    }
+
+    private record ModelKey(String make, String model, String color) {
+        private static final Comparator<ModelKey> ORDER = Comparator.comparing(ModelKey::make)
+                .thenComparing(ModelKey::model)
+                .thenComparing(ModelKey::color);
+    }
+}
@@ -0,0 +1,86 @@
+package cbcoder.dealerwebapp.Cars.stats;
+
+import cbcoder.dealerwebapp.Cars.model.Car;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsDelta gathers the changes of the stock dashboard aggregates made by a transaction, by group of cars.
+ * A created car is added, a deleted car is removed, and an updated car is removed before it is changed
+ * and added after, so a car which moves to another group (e.g., sold) is counted in its new group only.
+ * The changes of the same group are merged, e.g. the cars of a chunk of a delivery are one change per group,
+ * and the groups which do not change are dropped.
+ * A delta is used by one thread, it is not thread safe.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStatsKey
+ * @see CarStatsTotals
+ * @since 2026-10-17
+ */
+public class CarStatsDelta {
+
+    private final SortedMap<CarStatsKey, CarStatsTotals> changes = new TreeMap<>();
+
+    public static CarStatsDelta created(Car car) {
+        return new CarStatsDelta().add(car);
+    }
+
+    public static CarStatsDelta deleted(Car car) {
+        return new CarStatsDelta().remove(car);
+    }
+
+    /**
+     * Add the car, in its current state, to its group.
+     *
+     * @param car the car.
+     * @return this delta.
+     */
+    public CarStatsDelta add(Car car) {
+        return merge(CarStatsKey.of(car), CarStatsTotals.of(car));
+    }
+
+    /**
+     * Remove the car, in its current state, from its group. An updated car is removed before it is changed.
+     *
+     * @param car the car.
+     * @return this delta.
+     */
+    public CarStatsDelta remove(Car car) {
+        return merge(CarStatsKey.of(car), CarStatsTotals.of(car).negate());
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * The changes by group, in the order of the keys.
+     *
+     * @return the changes of the groups which changed.
+     */
+    public SortedMap<CarStatsKey, CarStatsTotals> changes() {
+        return Collections.unmodifiableSortedMap(changes);
+    }
+
+    private CarStatsDelta merge(CarStatsKey key, CarStatsTotals totals) {
+        if (key.carStatus() == null) {
+            // The cars without a status are not in the aggregates.
+            return this;
+        }
+        CarStatsTotals merged = changes.getOrDefault(key, CarStatsTotals.ZERO).plus(totals);
+        if (merged.isZero()) {
+            changes.remove(key);
+        } else {
+            changes.put(key, merged);
+        }
+        return this;
+    }
+}
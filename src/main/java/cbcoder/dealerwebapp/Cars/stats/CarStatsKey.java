@@ -0,0 +1,67 @@
+package cbcoder.dealerwebapp.Cars.stats;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsKey is the group of a car in the stock dashboard aggregates (a row of the CAR_STOCK_SUMMARY table).
+ * The sold cars are also grouped by the month of the sale (yyyy-MM), the month of the stock cars is empty,
+ * so the key can be the primary key of the summary table.
+ * The keys are ordered, so the summary rows of a change are always locked in the same order.
+ *
+ * @param make      the make of the cars.
+ * @param model     the model of the cars.
+ * @param color     the color of the cars.
+ * @param carStatus the status of the cars.
+ * @param soldMonth the month of the sale of the sold cars (e.g., 2026-10), or an empty string for the stock cars.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStatsTotals
+ * @since 2026-10-17
+ */
+public record CarStatsKey(String make, String model, String color, CarStatus carStatus, String soldMonth)
+        implements Comparable<CarStatsKey> {
+
+    public static final String NOT_SOLD = "";
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final Comparator<CarStatsKey> ORDER = Comparator.comparing(CarStatsKey::make)
+            .thenComparing(CarStatsKey::model)
+            .thenComparing(CarStatsKey::color)
+            .thenComparing(CarStatsKey::carStatus)
+            .thenComparing(CarStatsKey::soldMonth);
+
+    /**
+     * The key of the group of the car, from its current state.
+     *
+     * @param car the car.
+     * @return the key of the car.
+     */
+    public static CarStatsKey of(Car car) {
+        String soldMonth = car.getCarStatus() == CarStatus.SOLD ? MONTH_FORMAT.format(soldAt(car)) : NOT_SOLD;
+        return new CarStatsKey(car.getMake(), car.getModel(), car.getColor(), car.getCarStatus(), soldMonth);
+    }
+
+    /**
+     * The date of the sale of a sold car: the date of its last update, which is the update to sold,
+     * or its creation date for a car created as sold.
+     * Same as "coalesce(date_updated, date_created)" in the rebuild query of CarStockSummaryRepository.
+     */
+    static LocalDateTime soldAt(Car car) {
+        return car.getDateUpdated() != null ? car.getDateUpdated() : car.getDateCreated();
+    }
+
+    @Override
+    public int compareTo(CarStatsKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,53 @@
+package cbcoder.dealerwebapp.Cars.stats;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CarStatsTotals are the additive totals of a group of cars: the number of cars, and the sums of the days
+ * (as epoch days) of their creation and of their sale. Only sums are kept, so a car is added to or removed from
+ * a group by adding its totals or their negation, and the averages are computed when the stats are read:
+ * the days in stock of the sold cars are (soldEpochDays - createdEpochDays) / count, and of the stock cars
+ * today - createdEpochDays / count.
+ *
+ * @param count            the number of cars.
+ * @param createdEpochDays the sum of the epoch days of the creation of the cars.
+ * @param soldEpochDays    the sum of the epoch days of the sale of the cars, 0 for the stock cars.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CarStatsKey
+ * @since 2026-10-17
+ */
+public record CarStatsTotals(long count, long createdEpochDays, long soldEpochDays) {
+
+    public static final CarStatsTotals ZERO = new CarStatsTotals(0, 0, 0);
+
+    /**
+     * The totals of a single car, from its current state.
+     *
+     * @param car the car.
+     * @return the totals of the car.
+     */
+    public static CarStatsTotals of(Car car) {
+        long soldEpochDay = car.getCarStatus() == CarStatus.SOLD ? CarStatsKey.soldAt(car).toLocalDate().toEpochDay() : 0;
+        return new CarStatsTotals(1, car.getDateCreated().toLocalDate().toEpochDay(), soldEpochDay);
+    }
+
+    public CarStatsTotals plus(CarStatsTotals other) {
+        return new CarStatsTotals(count + other.count, createdEpochDays + other.createdEpochDays,
+                soldEpochDays + other.soldEpochDays);
+    }
+
+    public CarStatsTotals negate() {
+        return new CarStatsTotals(-count, -createdEpochDays, -soldEpochDays);
+    }
+
+    public boolean isZero() {
+        return count == 0 && createdEpochDays == 0 && soldEpochDays == 0;
+    }
+}
@@ -5,7 +5,9 @@ import cbcoder.dealerwebapp.UsersInfo.Dtos.RefreshTokenRequest;
 import cbcoder.dealerwebapp.UsersInfo.Dtos.SignInRequest;
 import cbcoder.dealerwebapp.UsersInfo.Dtos.SignUpRequest;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.security.AuthRateLimiter;
 import cbcoder.dealerwebapp.UsersInfo.services.impl.UserAuthServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,16 +25,19 @@ import java.net.URI;
  * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
  * </br>
  * AuthController class provides the endpoints for the authentication process.
- * It provides the endpoints for registering a new user, logging in, and refreshing the token.
+ * It provides the endpoints for registering a new user, logging in, refreshing the token and logging out.
  * The class is annotated with @RestController and @RequestMapping to define the base path for the endpoints.
- * The class has a constructor that receives an instance of the UserAuthServiceImpl class.
+ * The class has a constructor that receives an instance of the UserAuthServiceImpl class and of the AuthRateLimiter class.
+ * The login and refresh requests are throttled by the AuthRateLimiter before the credentials are checked.
  * The register method receives a SignUpRequest object, validates it, and returns the created user.
  * The login method receives a SignInRequest object and returns the JWT token.
  * The refreshToken method receives a RefreshTokenRequest object and returns a new JWT token.
+ * The logout method receives a RefreshTokenRequest object and revokes the refresh token.
  *
  * @author Cleber Balbinote
  * @version 1.0
  * @see UserAuthServiceImpl
+ * @see AuthRateLimiter
  * @see SignUpRequest
  * @see SignInRequest
  * @see RefreshTokenRequest
@@ -43,9 +48,11 @@ import java.net.URI;
 public class AuthController {
 
     private final UserAuthServiceImpl userAuthService;
+    private final AuthRateLimiter authRateLimiter;
 
-    public AuthController(UserAuthServiceImpl userAuthService) {
+    public AuthController(UserAuthServiceImpl userAuthService, AuthRateLimiter authRateLimiter) {
         this.userAuthService = userAuthService;
+        this.authRateLimiter = authRateLimiter;
     }
 
     /**
@@ -70,12 +77,15 @@ public class AuthController {
      * Login the user and return the JWT token.
      * The method receives a SignInRequest object and returns the JWT token.
      * The JWT token is returned in the response body with http status code 200 (OK).
+     * Too many attempts for the email or from the client IP are rejected with http status code 429 (TOO MANY REQUESTS).
      *
      * @param signInRequest the SignInRequest object containing the user details to be logged in.
+     * @param request       the HTTP request, giving the client IP.
      * @return the ResponseEntity containing the JWT token.
      */
     @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> login(@RequestBody SignInRequest signInRequest) {
+    public ResponseEntity<JwtAuthResponse> login(@RequestBody SignInRequest signInRequest, HttpServletRequest request) {
+        authRateLimiter.checkLogin(signInRequest.email(), request.getRemoteAddr());
         return ResponseEntity.ok(userAuthService.login(signInRequest));
     }
 
@@ -83,12 +93,29 @@ public class AuthController {
      * Refresh the JWT token and return the new JWT token.
      * The method receives a RefreshTokenRequest object and returns a new JWT token.
      * The new JWT token is returned in the response body with http status code 200 (OK).
+     * Too many refreshes from the client IP are rejected with http status code 429 (TOO MANY REQUESTS).
      *
      * @param refreshTokenRequest the RefreshTokenRequest object containing the refresh token.
+     * @param request             the HTTP request, giving the client IP.
      * @return the ResponseEntity containing the new JWT token.
      */
     @PostMapping("/refresh/token")
-    public ResponseEntity<JwtAuthResponse> refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+    public ResponseEntity<JwtAuthResponse> refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest,
+                                                        HttpServletRequest request) {
+        authRateLimiter.checkRefresh(request.getRemoteAddr());
         return ResponseEntity.ok(userAuthService.refreshToken(refreshTokenRequest));
     }
+
+    /**
+     * Log out the user, revoking the refresh token and the refresh tokens of the same login.
+     * The method receives a RefreshTokenRequest object, and returns http status code 204 (NO CONTENT).
+     *
+     * @param refreshTokenRequest the RefreshTokenRequest object containing the refresh token.
+     * @return the ResponseEntity with no content.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+        userAuthService.logout(refreshTokenRequest);
+        return ResponseEntity.noContent().build();
+    }
 }
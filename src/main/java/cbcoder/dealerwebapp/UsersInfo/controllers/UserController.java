@@ -52,4 +52,18 @@ public class UserController {
     public ResponseEntity<User> updateUser(@PathVariable Long userId, @RequestBody UserDto userDto) {
         return ResponseEntity.ok(userService.updateUser(userId, userDto));
     }
+
+    /**
+     * This method is responsible for logging out the current user from all the sessions.
+     * All the refresh tokens of the user are revoked, and the access tokens already issued are rejected.
+     * This method allows access to all the authenticated users, for their own user only.
+     *
+     * @return a ResponseEntity with no content.
+     */
+    @PostMapping(value = "/logout-all")
+    @PreAuthorize("hasAnyAuthority('ROLE_SUPERADMIN', 'ROLE_ADMIN','ROLE_SALES', 'ROLE_WORKSHOP', 'ROLE_VALETER')")
+    public ResponseEntity<Void> logoutAll() {
+        userService.logoutAll();
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,31 @@
+package cbcoder.dealerwebapp.UsersInfo.mappers;
+
+import cbcoder.dealerwebapp.UsersInfo.Dtos.UserDto;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.globalConfig.MapStructConfig;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * UserMapper maps the User entity to the UserDto and back. The implementation is generated by MapStruct at compile time.
+ * The cars of a user are not part of the UserDto, so they are never mapped from it.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see User
+ * @see UserDto
+ * @since 2026-10-17
+ */
+@Mapper(config = MapStructConfig.class)
+public interface UserMapper {
+
+    UserDto toDto(User user);
+
+    @Mapping(target = "cars", ignore = true)
+    User toEntity(UserDto userDto);
+}
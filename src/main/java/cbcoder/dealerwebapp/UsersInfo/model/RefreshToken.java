@@ -0,0 +1,144 @@
+package cbcoder.dealerwebapp.UsersInfo.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * RefreshToken class represents a refresh token issued to a user, by its id (the "jti" claim of the token).
+ * The tokens issued from one login form a family: every refresh rotates the token, marking it as used (revoked,
+ * and replaced by the next token of the family). A revoked token presented again is a reuse,
+ * and the whole family is revoked.
+ * The user is referenced by its id only, so the tokens of a deleted user are revoked and purged on expiration
+ * without a foreign key to the users.
+ * The id is assigned by the application, the class implements Persistable so a new token is inserted without a select.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see User
+ * @since 2026-10-17
+ */
+@Entity
+@Table(name = "REFRESH_TOKENS", indexes = {
+        @Index(name = "IDX_REFRESH_TOKENS_FAMILY_ID", columnList = "FAMILY_ID"),
+        @Index(name = "IDX_REFRESH_TOKENS_USER_ID", columnList = "USER_ID"),
+        @Index(name = "IDX_REFRESH_TOKENS_EXPIRES_AT", columnList = "EXPIRES_AT")})
+public class RefreshToken implements Persistable<String>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "TOKEN_ID", length = 36, updatable = false, nullable = false)
+    private String tokenId;
+
+    @Column(name = "FAMILY_ID", length = 36, updatable = false, nullable = false)
+    private String familyId;
+
+    @Column(name = "USER_ID", updatable = false, nullable = false)
+    private Long userId;
+
+    @Column(name = "ISSUED_AT", updatable = false, nullable = false)
+    private LocalDateTime issuedAt;
+
+    @Column(name = "EXPIRES_AT", updatable = false, nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "REVOKED_AT")
+    private LocalDateTime revokedAt;
+
+    // Id of the token which replaced this token, when the token was rotated.
+    @Column(name = "REPLACED_BY", length = 36)
+    private String replacedBy;
+
+    @Transient
+    private boolean isNew = true;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenId, String familyId, Long userId, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getIssuedAt() {
+        return issuedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public String getReplacedBy() {
+        return replacedBy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RefreshToken that)) return false;
+        return Objects.equals(tokenId, that.tokenId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(tokenId);
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", familyId='" + familyId + '\'' +
+                ", userId=" + userId +
+                ", issuedAt=" + issuedAt +
+                ", expiresAt=" + expiresAt +
+                ", revokedAt=" + revokedAt +
+                ", replacedBy='" + replacedBy + '\'' +
+                '}';
+    }
+}
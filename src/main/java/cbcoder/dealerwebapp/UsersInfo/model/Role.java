@@ -2,6 +2,8 @@ package cbcoder.dealerwebapp.UsersInfo.model;
 
 import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -19,6 +21,7 @@ import java.util.Objects;
  * The @Table annotation is used to specify the name of the table in the database.
  * The class is also annotated with @SequenceGenerator to generate the primary key values.
  * The class implements the Serializable interface to make the object serializable.
+ * The roles are seeded by data.sql and never change, so they are kept in the read-only second-level cache.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -26,8 +29,10 @@ import java.util.Objects;
  * @since 2024-06-15
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 @Table(name = "ROLES")
-@SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 1)
+@SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
 public class Role implements Serializable {
 
     @Serial
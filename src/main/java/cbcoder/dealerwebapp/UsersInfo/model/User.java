@@ -40,7 +40,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "USERS")
-@SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 1, initialValue = 2)
+@SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50, initialValue = 2)
 public class User implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -85,6 +85,11 @@ public class User implements Serializable {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    // Version of the user's access tokens, bumped when the roles, the status or the password change.
+    @Column(name = "TOKEN_VERSION")
+    @JsonIgnore
+    private Integer tokenVersion = 0;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "USERS_roles",
             joinColumns = @JoinColumn(name = "user_USER_ID"),
@@ -187,6 +192,17 @@ public class User implements Serializable {
         this.updatedAt = updatedAt;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    /**
+     * Bump the token version, so the access tokens issued before the change are rejected.
+     */
+    public void bumpTokenVersion() {
+        this.tokenVersion = getTokenVersion() + 1;
+    }
+
     public String getFullName() {
         return this.firstName + " " + this.lastName;
     }
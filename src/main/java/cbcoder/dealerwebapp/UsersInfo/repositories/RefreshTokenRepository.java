@@ -0,0 +1,58 @@
+package cbcoder.dealerwebapp.UsersInfo.repositories;
+
+import cbcoder.dealerwebapp.UsersInfo.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * RefreshTokenRepository interface extends the JpaRepository interface.
+ * It provides the methods to rotate and revoke the refresh tokens with bulk updates, without loading the tokens.
+ * rotate marks a token as used only if it is still active, so of two concurrent refreshes with the same token,
+ * only one succeeds, and the other is detected as a reuse.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see JpaRepository
+ * @see RefreshToken
+ * @since 2026-10-17
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now, t.replacedBy = :replacedBy " +
+            "where t.tokenId = :tokenId and t.revokedAt is null and t.expiresAt > :now")
+    int rotate(@Param("tokenId") String tokenId, @Param("replacedBy") String replacedBy, @Param("now") LocalDateTime now);
+
+    @Query("select t.tokenId from RefreshToken t where t.familyId = :familyId and t.revokedAt is null")
+    List<String> findActiveTokenIdsByFamilyId(@Param("familyId") String familyId);
+
+    @Query("select t.tokenId from RefreshToken t where t.userId = :userId and t.revokedAt is null")
+    List<String> findActiveTokenIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select t.tokenId from RefreshToken t where t.revokedAt is not null and t.expiresAt > :now")
+    List<String> findRevokedTokenIds(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.userId = :userId and t.revokedAt is null")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,7 +2,10 @@ package cbcoder.dealerwebapp.UsersInfo.repositories;
 
 import cbcoder.dealerwebapp.UsersInfo.model.Role;
 import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,6 +19,8 @@ import java.util.Optional;
  * RoleRepository interface extends the JpaRepository interface.
  * It provides the methods to interact with the database.
  * The methods are used to query the database for roles.
+ * The queries by role name are cacheable, so they are answered by the query cache after the first call.
+ * The role lookups of the services go through the RoleRegistry, which keeps all the roles in memory.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -27,7 +32,9 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Integer> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByRoleName(RoleEnum roleName);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     int countRoleByRoleName(RoleEnum roleName);
 }
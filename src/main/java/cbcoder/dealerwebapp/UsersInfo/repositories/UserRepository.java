@@ -3,6 +3,8 @@ package cbcoder.dealerwebapp.UsersInfo.repositories;
 import cbcoder.dealerwebapp.UsersInfo.model.Role;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,6 +19,7 @@ import java.util.Optional;
  * It provides the methods to interact with the User entity in the database.
  * The methods are used to query the database for users by email, check if a user exists by email,
  * count the number of super admins in the database, and find a user by first name.
+ * findTokenVersionByEmail reads only the token version of a user, to check the version of stateless access tokens.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -35,4 +38,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRolesContaining(Role superAdminRole);
 
     Optional<User> findUserByFirstNameContainingIgnoreCase(String firstName);
+
+    @Query("select coalesce(u.tokenVersion, 0) from User u where u.email = :email")
+    Optional<Integer> findTokenVersionByEmail(@Param("email") String email);
 }
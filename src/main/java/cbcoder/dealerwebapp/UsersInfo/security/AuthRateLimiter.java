@@ -0,0 +1,129 @@
+package cbcoder.dealerwebapp.UsersInfo.security;
+
+import cbcoder.dealerwebapp.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * AuthRateLimiter throttles the logins, by email and by client IP, and the token refreshes, by client IP,
+ * before any password is checked, so a credential stuffing burst is rejected without using the BCrypt threads.
+ * Every key is a token bucket, kept as the theoretical arrival time of its next request (GCRA):
+ * a request is allowed when it is not earlier than that time minus the burst, and moves it by one emission interval.
+ * The time of a key is an AtomicLong updated with compare-and-set, so a check takes no lock,
+ * and the keys are held in a Caffeine cache (which is striped), bounded in size and expired when their bucket is full again.
+ * The rejected requests are published as the "auth.rate-limit.rejected" metric, tagged by limit,
+ * and the number of keys as the "auth.rate-limit.keys" metric.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see TooManyRequestsException
+ * @since 2026-10-17
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final String REJECTED_MESSAGE = "Too many authentication attempts, please try again later";
+
+    private final boolean enabled;
+    private final Limit loginByEmail;
+    private final Limit loginByIp;
+    private final Limit refreshByIp;
+    private final Cache<String, AtomicLong> buckets;
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${dealer-webapp.security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${dealer-webapp.security.rate-limit.maximum-keys:100000}") long maximumKeys,
+                           @Value("${dealer-webapp.security.rate-limit.login-by-email.permits-per-minute:5}") int loginByEmailRate,
+                           @Value("${dealer-webapp.security.rate-limit.login-by-email.burst:5}") int loginByEmailBurst,
+                           @Value("${dealer-webapp.security.rate-limit.login-by-ip.permits-per-minute:60}") int loginByIpRate,
+                           @Value("${dealer-webapp.security.rate-limit.login-by-ip.burst:30}") int loginByIpBurst,
+                           @Value("${dealer-webapp.security.rate-limit.refresh-by-ip.permits-per-minute:60}") int refreshByIpRate,
+                           @Value("${dealer-webapp.security.rate-limit.refresh-by-ip.burst:30}") int refreshByIpBurst) {
+        this.enabled = enabled;
+        this.loginByEmail = new Limit("login-by-email", loginByEmailRate, loginByEmailBurst, meterRegistry);
+        this.loginByIp = new Limit("login-by-ip", loginByIpRate, loginByIpBurst, meterRegistry);
+        this.refreshByIp = new Limit("refresh-by-ip", refreshByIpRate, refreshByIpBurst, meterRegistry);
+        // A key not used for the longest refill time of the limits has a full bucket, it can be dropped.
+        long refillNanos = Math.max(loginByEmail.burstNanos(), Math.max(loginByIp.burstNanos(), refreshByIp.burstNanos()));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(refillNanos + loginByEmail.intervalNanos()))
+                .build();
+        Gauge.builder("auth.rate-limit.keys", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Check the login attempt is allowed, for the client IP and for the email.
+     *
+     * @param email    - the email of the login request.
+     * @param clientIp - the IP address of the client.
+     * @throws TooManyRequestsException if the client IP or the email has no attempt left.
+     */
+    public void checkLogin(String email, String clientIp) {
+        acquire(loginByIp, clientIp);
+        acquire(loginByEmail, email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Check the token refresh is allowed for the client IP.
+     *
+     * @param clientIp - the IP address of the client.
+     * @throws TooManyRequestsException if the client IP has no refresh left.
+     */
+    public void checkRefresh(String clientIp) {
+        acquire(refreshByIp, clientIp);
+    }
+
+    /**
+     * This private method takes a permit from the bucket of the key, without locking.
+     *
+     * @param limit - the limit of the bucket.
+     * @param key   - the key of the bucket (an email or an IP address).
+     * @throws TooManyRequestsException if the bucket is empty.
+     */
+    private void acquire(Limit limit, String key) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong theoreticalArrival = buckets.get(limit.name() + ':' + key, bucketKey -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + limit.intervalNanos();
+            if (next - now > limit.burstNanos()) {
+                limit.rejected().increment();
+                throw new TooManyRequestsException(REJECTED_MESSAGE);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A limit of permits per minute, with a burst of permits available at once.
+     */
+    private record Limit(String name, long intervalNanos, long burstNanos, Counter rejected) {
+
+        private Limit(String name, int permitsPerMinute, int burst, MeterRegistry meterRegistry) {
+            this(name, TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute),
+                    TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute) * Math.max(1, burst),
+                    Counter.builder("auth.rate-limit.rejected").tag("limit", name).register(meterRegistry));
+        }
+    }
+}
@@ -49,6 +49,15 @@ public class AuthUser implements UserDetails {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * This method returns the version of the user's access tokens.
+     *
+     * @return int - The user's token version.
+     */
+    public int getTokenVersion() {
+        return this.user.getTokenVersion();
+    }
+
     /**
      * This method returns the user's password.
      *
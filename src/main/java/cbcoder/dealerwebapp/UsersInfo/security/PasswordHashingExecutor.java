@@ -0,0 +1,107 @@
+package cbcoder.dealerwebapp.UsersInfo.security;
+
+import cbcoder.dealerwebapp.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * PasswordHashingExecutor runs the BCrypt work (the password check of a login, the hash of a new password)
+ * on a dedicated pool of platform threads, so a burst of logins uses at most the threads of the pool
+ * and leaves the other CPUs to the car requests.
+ * The tasks wait in a bounded queue. When the queue is full, or a task waits longer than the configured timeout,
+ * the request is rejected at once with a TooManyRequestsException (429) instead of queuing without bound.
+ * The depth of the queue, the time waited in the queue and the time of the hashes are published as the
+ * "auth.password.queue", "auth.password.wait" and "auth.password.hash" metrics (with histograms),
+ * and the rejected requests as the "auth.password.rejected" metric.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see TooManyRequestsException
+ * @since 2026-10-17
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final String REJECTED_MESSAGE = "Too many authentication requests, please try again later";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${dealer-webapp.security.password-hashing.threads:0}") int threads,
+                                   @Value("${dealer-webapp.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${dealer-webapp.security.password-hashing.timeout:5000}") long timeout) {
+        // By default, half of the CPUs are left to the other requests.
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.wait").publishPercentileHistogram().register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+    }
+
+    /**
+     * Run a password task on the pool, and wait for its result.
+     *
+     * @param operation - the name of the operation (e.g., login), used as the tag of the hash metric.
+     * @param task      - the task hashing or checking the password.
+     * @return the result of the task.
+     * @throws TooManyRequestsException if the queue is full, or the task waited too long.
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer hashTimer = Timer.builder("auth.password.hash").tag("operation", operation)
+                .publishPercentileHistogram().register(meterRegistry);
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(REJECTED_MESSAGE);
+        }
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException(REJECTED_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the password hashing", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
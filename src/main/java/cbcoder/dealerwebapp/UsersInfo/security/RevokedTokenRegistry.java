@@ -0,0 +1,170 @@
+package cbcoder.dealerwebapp.UsersInfo.security;
+
+import cbcoder.dealerwebapp.UsersInfo.repositories.RefreshTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * RevokedTokenRegistry keeps the ids of the revoked (and rotated) refresh tokens in memory,
+ * so a revoked token is rejected on the refresh path without a query.
+ * A bloom filter is checked first: most of the tokens presented are active, and the filter answers "not revoked"
+ * for them with a few bit reads. Only the ids the filter may contain are looked up in the hot set (a Caffeine cache
+ * bounded in size, whose entries expire with the refresh tokens). The filter is rebuilt from the hot set when
+ * it holds more ids than it was sized for.
+ * The registry is loaded with the revoked tokens not expired yet when the application is ready.
+ * It is a prefilter only: an id missing from the registry (e.g., revoked by another instance of the application)
+ * is still rejected by the rotation of the token in the database, see RefreshTokenRepository.rotate.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see RefreshTokenRepository
+ * @since 2026-10-17
+ */
+@Component
+public class RevokedTokenRegistry {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Cache<String, Boolean> revokedTokenIds;
+    private final int bloomFilterCapacity;
+    private volatile BloomFilter bloomFilter;
+
+    public RevokedTokenRegistry(RefreshTokenRepository refreshTokenRepository,
+                                @Value("${dealer-webapp.security.refresh-tokens.revoked-cache.maximum-size:100000}") int maximumSize,
+                                @Value("${dealer-webapp.security.jwt.expiration-refresh}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(refreshExpiration))
+                .build();
+        // Twice the size of the hot set, so a rebuild leaves room for at least as many new ids.
+        this.bloomFilterCapacity = Math.max(1024, maximumSize * 2);
+        this.bloomFilter = new BloomFilter(bloomFilterCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        revoke(refreshTokenRepository.findRevokedTokenIds(LocalDateTime.now()));
+    }
+
+    /**
+     * Check if the refresh token is known to be revoked.
+     *
+     * @param tokenId the id of the refresh token.
+     * @return true if the token is revoked, false if it is not known to be revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        return bloomFilter.mightContain(tokenId) && revokedTokenIds.getIfPresent(tokenId) != null;
+    }
+
+    /**
+     * Add the revoked refresh tokens to the registry.
+     *
+     * @param tokenIds the ids of the revoked refresh tokens.
+     */
+    public void revoke(Collection<String> tokenIds) {
+        for (String tokenId : tokenIds) {
+            revokedTokenIds.put(tokenId, Boolean.TRUE);
+            if (!bloomFilter.put(tokenId)) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+
+    /**
+     * This private method replaces the bloom filter by a filter of the ids of the hot set,
+     * dropping the ids which were evicted or expired since the filter was built.
+     */
+    private synchronized void rebuildBloomFilter() {
+        if (bloomFilter.isFull()) {
+            BloomFilter rebuilt = new BloomFilter(bloomFilterCapacity);
+            revokedTokenIds.asMap().keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+    }
+
+    /**
+     * A lock-free bloom filter of strings, sized for about 1% of false positives at its capacity.
+     */
+    private static final class BloomFilter {
+        private static final int HASHES = 7;
+        private static final int BITS_PER_ENTRY = 10;
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int capacity;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private BloomFilter(int capacity) {
+            this.capacity = capacity;
+            this.words = new AtomicLongArray((int) (((long) capacity * BITS_PER_ENTRY + 63) / 64));
+            this.bitCount = (long) words.length() * 64;
+        }
+
+        /**
+         * Add the key to the filter.
+         *
+         * @return false if the filter holds more keys than its capacity, and should be rebuilt.
+         */
+        private boolean put(String key) {
+            long hash = hash(key);
+            for (int i = 1; i <= HASHES; i++) {
+                long bit = bitIndex(hash, i);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (current, added) -> current | added);
+                }
+            }
+            return insertions.incrementAndGet() <= capacity;
+        }
+
+        private boolean mightContain(String key) {
+            long hash = hash(key);
+            for (int i = 1; i <= HASHES; i++) {
+                long bit = bitIndex(hash, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isFull() {
+            return insertions.get() > capacity;
+        }
+
+        // Double hashing: the i-th index is derived from the two halves of a 64-bit hash.
+        private long bitIndex(long hash, int i) {
+            return Math.floorMod((int) hash + (long) i * (int) (hash >>> 32), bitCount);
+        }
+
+        private static long hash(String key) {
+            long hash = 1125899906842597L;
+            for (int i = 0; i < key.length(); i++) {
+                hash = 31 * hash + key.charAt(i);
+            }
+            // Finalizer of MurmurHash3, so every bit of the key changes every bit of the hash.
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cbcoder.dealerwebapp.UsersInfo.security;
+
+import cbcoder.dealerwebapp.UsersInfo.model.Role;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import cbcoder.dealerwebapp.UsersInfo.repositories.RoleRepository;
+import cbcoder.dealerwebapp.exceptions.RoleNotFoundException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * RoleRegistry keeps the roles of the application in memory, by role name.
+ * The roles are seeded by data.sql and never change, so they are loaded once with a single query
+ * when the application is ready (or on the first lookup), and a role lookup is an EnumMap lookup.
+ * The roles are detached entities: they are only referenced by the users (the roles of a user are not cascaded),
+ * so they can be shared by every request.
+ * If a role is missing (e.g., the seed ran after the registry was loaded), the roles are read again, once:
+ * a role still missing after that is not found, without a query per lookup.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see RoleRepository
+ * @see RoleEnum
+ * @since 2026-10-17
+ */
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private final AtomicBoolean reloaded = new AtomicBoolean();
+    private volatile Map<RoleEnum, Role> roles;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        roles = loadRoles();
+    }
+
+    /**
+     * Find the role with the given role name.
+     *
+     * @param roleName the role name.
+     * @return the role, or an empty Optional if there is no role with the given name.
+     */
+    public Optional<Role> findRole(RoleEnum roleName) {
+        Map<RoleEnum, Role> current = roles;
+        if (current == null || (!current.containsKey(roleName) && reloaded.compareAndSet(false, true))) {
+            current = loadRoles();
+            roles = current;
+        }
+        return Optional.ofNullable(current.get(roleName));
+    }
+
+    /**
+     * Get the role with the given role name.
+     *
+     * @param roleName the role name.
+     * @return the role.
+     * @throws RoleNotFoundException if there is no role with the given name.
+     */
+    public Role getRole(RoleEnum roleName) {
+        return findRole(roleName).orElseThrow(() -> new RoleNotFoundException("Role not found."));
+    }
+
+    private Map<RoleEnum, Role> loadRoles() {
+        Map<RoleEnum, Role> loaded = new EnumMap<>(RoleEnum.class);
+        roleRepository.findAll().forEach(role -> loaded.put(role.getRoleName(), role));
+        return Collections.unmodifiableMap(loaded);
+    }
+}
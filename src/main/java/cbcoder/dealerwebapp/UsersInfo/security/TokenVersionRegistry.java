@@ -0,0 +1,72 @@
+package cbcoder.dealerwebapp.UsersInfo.security;
+
+import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
+import cbcoder.dealerwebapp.globalConfig.CacheLoaders;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * TokenVersionRegistry keeps the current token version of the users, to check the stateless access tokens.
+ * An access token carries the token version of its user in the "ver" claim,
+ * and it is rejected once the user's version has been bumped (role change, status change, password change or deletion).
+ * The versions are read from the database on a miss and kept in memory,
+ * so the check of a token doesn't hit the database on the request path.
+ * The versions are loaded on a virtual thread of the CacheLoaders, not inside the lock of the cache.
+ * The entries are evicted by the UserSecurityService when a user changes, and they expire after the configured
+ * time to live, which bounds how long another instance of the application can accept a revoked token.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see VerifiedJwt
+ * @since 2026-10-17
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, Integer> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${dealer-webapp.security.jwt.version-check.maximum-size:10000}") long maximumSize,
+                                @Value("${dealer-webapp.security.jwt.version-check.time-to-live:60000}") long timeToLive) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(timeToLive))
+                .executor(CacheLoaders.EXECUTOR)
+                .buildAsync();
+    }
+
+    /**
+     * Checks if the token version is the current version of the user.
+     * A user that doesn't exist anymore has no current version, so all its tokens are rejected.
+     *
+     * @param email   the email of the user (the subject of the token).
+     * @param version the token version of the token.
+     * @return True if the token version is current, false otherwise.
+     */
+    public boolean isCurrent(String email, int version) {
+        // The missing users are not cached, the mapping function returns null.
+        Integer current = CacheLoaders.join(
+                versions.get(email, key -> userRepository.findTokenVersionByEmail(key).orElse(null)));
+        return current != null && current == version;
+    }
+
+    /**
+     * Evict the token version of the user, so the next check reads the new version.
+     *
+     * @param email the email of the user that was changed or deleted.
+     */
+    public void evict(String email) {
+        versions.synchronous().invalidate(email);
+    }
+}
@@ -0,0 +1,82 @@
+package cbcoder.dealerwebapp.UsersInfo.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * VerifiedJwt holds the claims of a JWT token whose signature and expiration have already been verified.
+ * It is returned by JwtService.parseToken, so the token is parsed and verified only once per request.
+ *
+ * @param subject    the subject of the token (the user email).
+ * @param expiration the expiration date of the token.
+ * @param roles      the role names of the user when the token was issued (empty for refresh tokens).
+ * @param version    the token version of the user when the token was issued (null for refresh tokens).
+ * @param id         the id of the token, the "jti" claim (null for access tokens).
+ * @param family     the family of the refresh token, all the tokens rotated from one login (null for access tokens).
+ * @param type       the type of the token, the "typ" claim ("access" or "refresh", null for the tokens issued before it).
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see cbcoder.dealerwebapp.UsersInfo.services.JwtService
+ * @since 2026-10-17
+ */
+public record VerifiedJwt(String subject, Date expiration, List<String> roles, Integer version, String id,
+                          String family, String type) {
+
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
+    /**
+     * Checks if the token was issued to the given user and is not expired.
+     *
+     * @param userDetails User details to validate the token.
+     * @return True if the token is valid for the user, false otherwise.
+     */
+    public boolean isValidFor(UserDetails userDetails) {
+        return subject != null && subject.equals(userDetails.getUsername()) && !isExpired();
+    }
+
+    /**
+     * Checks if the token is an access token issued to the given user, not expired, and of the current token version
+     * of the user, so the access tokens are rejected once the user logs out of all the sessions or changes the password.
+     *
+     * @param userDetails User details to validate the token.
+     * @return True if the token is a current access token of the user, false otherwise.
+     */
+    public boolean isValidAccessTokenFor(UserDetails userDetails) {
+        if (isRefreshToken() || !isValidFor(userDetails)) {
+            return false;
+        }
+        return !(userDetails instanceof AuthUser authUser) || Objects.equals(version, authUser.getTokenVersion());
+    }
+
+    /**
+     * Checks if the token is a refresh token. The refresh tokens issued before the "typ" claim are recognised
+     * by their "jti" and "fid" claims, which the access tokens never have.
+     *
+     * @return True if the token is a refresh token, false otherwise.
+     */
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type) || id != null || family != null;
+    }
+
+    /**
+     * Checks if the token carries the authorities of the user, so it can authenticate the user without loading it.
+     *
+     * @return True if the token has the roles and the token version claims, false otherwise.
+     */
+    public boolean isStateless() {
+        return !isRefreshToken() && version != null && !roles.isEmpty();
+    }
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
@@ -1,13 +1,19 @@
 package cbcoder.dealerwebapp.UsersInfo.security.config;
 
+import cbcoder.dealerwebapp.UsersInfo.security.TokenVersionRegistry;
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
 import cbcoder.dealerwebapp.UsersInfo.services.JwtService;
 import cbcoder.dealerwebapp.UsersInfo.services.UserSecurityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +21,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
@@ -25,6 +34,15 @@ import java.io.IOException;
  * Filter to intercept requests and validate JWT tokens in the Authorization header.
  * If the token is valid, the user is authenticated and added to the SecurityContext.
  * The filter is added to the Spring Security filter chain in the SecurityConfig class.
+ * The token is parsed and verified once, and its verified claims are checked against the loaded user,
+ * including its token version, so the tokens issued before a logout of all the sessions or a password change are rejected.
+ * A refresh token is never accepted as an access token.
+ * When the stateless authorities mode is enabled (dealer-webapp.security.jwt.stateless-authorities),
+ * a token carrying the roles and the token version of the user authenticates the user straight from its claims,
+ * after checking the token version in the TokenVersionRegistry, so the user is not loaded.
+ * The time spent authenticating the request (not the rest of the filter chain) is recorded as the "auth.jwt.filter" timer,
+ * tagged by outcome: "none" (no bearer token), "authenticated", "unauthenticated" (the token does not authenticate
+ * the user, e.g. an old token version or a refresh token) or "error" (the token can not be verified).
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -33,12 +51,29 @@ import java.io.IOException;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final String OUTCOME_NONE = "none";
+    private static final String OUTCOME_AUTHENTICATED = "authenticated";
+    private static final String OUTCOME_UNAUTHENTICATED = "unauthenticated";
+    private static final String OUTCOME_ERROR = "error";
+
     private final JwtService jwtService;
     private final UserSecurityService userSecurityService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessAuthorities;
+    private final Map<String, Timer> timers;
 
-    public JwtAuthFilter(JwtService jwtService, UserSecurityService userSecurityService) {
+    public JwtAuthFilter(JwtService jwtService, UserSecurityService userSecurityService, TokenVersionRegistry tokenVersionRegistry,
+                         MeterRegistry meterRegistry,
+                         @Value("${dealer-webapp.security.jwt.stateless-authorities:false}") boolean statelessAuthorities) {
         this.jwtService = jwtService;
         this.userSecurityService = userSecurityService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessAuthorities = statelessAuthorities;
+        this.timers = Map.of(
+                OUTCOME_NONE, timer(meterRegistry, OUTCOME_NONE),
+                OUTCOME_AUTHENTICATED, timer(meterRegistry, OUTCOME_AUTHENTICATED),
+                OUTCOME_UNAUTHENTICATED, timer(meterRegistry, OUTCOME_UNAUTHENTICATED),
+                OUTCOME_ERROR, timer(meterRegistry, OUTCOME_ERROR));
     }
 
     /**
@@ -58,30 +93,75 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            outcome = authenticate(request);
+        } finally {
+            timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        filterChain.doFilter(request, response); // Continue the filter chain.
+    }
+
+    /**
+     * Method to authenticate the user of the JWT token in the Authorization header, if any.
+     *
+     * @param request HttpServletRequest object to get the Authorization header.
+     * @return the outcome of the authentication, the tag of the timer.
+     */
+    private String authenticate(HttpServletRequest request) {
         final String jwt;
-        final String userEmail; //
+        final VerifiedJwt verifiedJwt;
         final String authorizationHeader = request.getHeader("Authorization"); // Get the Authorization header from the request.
-        // If the Authorization header is null or does not start with "Bearer ", continue the filter chain.
+        // If the Authorization header is null or does not start with "Bearer ", there is nothing to authenticate.
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return; // Return to avoid null pointer exception.
+            return OUTCOME_NONE;
         }
 
         jwt = authorizationHeader.substring(7); // Get the token from the Authorization header.
-        userEmail = jwtService.getUsernameFromToken(jwt); // Get the user email from the token.
+        verifiedJwt = jwtService.parseToken(jwt); // Verify the token once and get its claims.
+        // A refresh token is only accepted by the refresh endpoint, never as an access token.
+        if (verifiedJwt.isRefreshToken()) {
+            return OUTCOME_UNAUTHENTICATED;
+        }
         // If the user email is not null and the user is not authenticated, authenticate the user.
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (verifiedJwt.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // In the stateless mode, authenticate the user from the token claims if the token version is current.
+            if (statelessAuthorities && verifiedJwt.isStateless()) {
+                if (tokenVersionRegistry.isCurrent(verifiedJwt.subject(), verifiedJwt.version())) {
+                    List<SimpleGrantedAuthority> authorities = verifiedJwt.roles().stream().map(SimpleGrantedAuthority::new).toList();
+                    setAuthentication(new UsernamePasswordAuthenticationToken(verifiedJwt.subject(), null, authorities));
+                    return OUTCOME_AUTHENTICATED;
+                }
+                return OUTCOME_UNAUTHENTICATED;
+            }
             // Load the user details from the user email.
-            UserDetails userDetails = userSecurityService.userDetailsService().loadUserByUsername(userEmail);
-            // If the token is valid, authenticate the user and add it to the SecurityContext.
-            if (jwtService.validateToken(jwt, userDetails)) {
-                SecurityContext securityContext = SecurityContextHolder.createEmptyContext(); // Create a new SecurityContext.
+            UserDetails userDetails = userSecurityService.userDetailsService().loadUserByUsername(verifiedJwt.subject());
+            // If the token is valid and of the current token version, authenticate the user and add it to the SecurityContext.
+            if (verifiedJwt.isValidAccessTokenFor(userDetails)) {
                 // Create a new UsernamePasswordAuthenticationToken with the user details and authorities.
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                securityContext.setAuthentication(authToken); // Set the authentication token to the SecurityContext.
-                SecurityContextHolder.setContext(securityContext); // Set the SecurityContext to the SecurityContextHolder.
+                setAuthentication(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+                return OUTCOME_AUTHENTICATED;
             }
         }
-        filterChain.doFilter(request, response); // Continue the filter chain.
+        return OUTCOME_UNAUTHENTICATED;
+    }
+
+    /**
+     * Method to add the authenticated user to a new SecurityContext.
+     *
+     * @param authToken the authentication token of the user.
+     */
+    private void setAuthentication(UsernamePasswordAuthenticationToken authToken) {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext(); // Create a new SecurityContext.
+        securityContext.setAuthentication(authToken); // Set the authentication token to the SecurityContext.
+        SecurityContextHolder.setContext(securityContext); // Set the SecurityContext to the SecurityContextHolder.
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.filter")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -1,5 +1,6 @@
 package cbcoder.dealerwebapp.UsersInfo.services;
 
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Map;
@@ -12,6 +13,7 @@ import java.util.Map;
  * </br>
  * JwtService interface provides the methods to generate, validate and extract information from JWT tokens.
  * The methods are implemented in the JwtServiceImpl class.
+ * The parseToken method verifies a token once and returns its claims, it is used by the JwtAuthFilter on every request.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -21,6 +23,8 @@ public interface JwtService {
 
     String generateJwtToken(UserDetails userDetails);
 
+    VerifiedJwt parseToken(String token);
+
     String getUsernameFromToken(String token);
 
     boolean validateToken(String token, UserDetails userDetails);
@@ -0,0 +1,28 @@
+package cbcoder.dealerwebapp.UsersInfo.services;
+
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * RefreshTokenService interface provides the methods to issue, rotate and revoke the refresh tokens.
+ * The methods are implemented in the RefreshTokenServiceImpl class.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface RefreshTokenService {
+
+    String issue(User user);
+
+    String rotate(VerifiedJwt refreshToken, User user);
+
+    void revokeFamily(VerifiedJwt refreshToken);
+
+    void revokeAll(Long userId);
+}
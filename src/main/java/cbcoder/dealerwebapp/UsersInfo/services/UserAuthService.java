@@ -26,4 +26,6 @@ public interface UserAuthService {
     JwtAuthResponse login(SignInRequest signInRequest);
 
     JwtAuthResponse refreshToken(RefreshTokenRequest refreshTokenRequest);
+
+    void logout(RefreshTokenRequest refreshTokenRequest);
 }
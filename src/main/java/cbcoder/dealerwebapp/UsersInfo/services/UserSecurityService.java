@@ -10,6 +10,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
  * </br>
  * UserSecurityService interface provides the userDetailsService method.
  * The userDetailsService method is used to retrieve the user details from the database.
+ * The evictUserDetails method drops the cached user details of a user after the user has been changed.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -19,4 +20,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 public interface UserSecurityService {
 
     UserDetailsService userDetailsService();
+
+    void evictUserDetails(String email);
 }
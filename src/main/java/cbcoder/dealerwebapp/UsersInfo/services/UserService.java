@@ -28,4 +28,6 @@ public interface UserService {
     User getUserById(Long userId);
 
     User adminUpdateUser(Long userId, UserDto userDto);
+
+    void logoutAll();
 }
@@ -1,17 +1,22 @@
 package cbcoder.dealerwebapp.UsersInfo.services.impl;
 
+import cbcoder.dealerwebapp.UsersInfo.security.AuthUser;
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
 import cbcoder.dealerwebapp.UsersInfo.services.JwtService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
@@ -21,26 +26,46 @@ import java.util.function.Function;
  * </br>
  * JwtServiceImpl class implements JwtService interface and provides methods to generate and validate JWT tokens.
  * It uses JJWT library to generate and validate JWT tokens.
+ * The signing key and the JWT parser are built once, when the service is created, and reused for every token.
+ * The parseToken method parses and verifies a token once and returns its claims as a VerifiedJwt,
+ * the other validation methods are built on top of it.
  *
  * @author Cleber Balbinote
  * @version 1.0
+ * @see VerifiedJwt
  * @since 2024-06-15
  */
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${dealer-webapp.security.jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${dealer-webapp.security.jwt.expiration}")
-    private long jwtExpiration;
-
-    @Value("${dealer-webapp.security.jwt.expiration-refresh}")
-    private long jwtRefreshExpiration;
+    static final String ROLES_CLAIM = "roles";
+    static final String VERSION_CLAIM = "ver";
+    static final String FAMILY_CLAIM = "fid";
+    static final String TYPE_CLAIM = "typ";
+
+    private final long jwtExpiration;
+    private final long jwtRefreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtServiceImpl(@Value("${dealer-webapp.security.jwt.secret}") String jwtSecret,
+                          @Value("${dealer-webapp.security.jwt.expiration}") long jwtExpiration,
+                          @Value("${dealer-webapp.security.jwt.expiration-refresh}") long jwtRefreshExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.jwtRefreshExpiration = jwtRefreshExpiration;
+        this.signingKey = getSignInKey(jwtSecret);
+        // The parser is immutable and thread-safe, so it is shared by all the requests.
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
 
     /**
      * Generates a JWT token for a given user.
      * The token is signed with the secret key and has an expiration time.
+     * The role names of the user are added to the token in the "roles" claim,
+     * and the token version of the user in the "ver" claim, so the token can be checked without loading the user.
+     * The "typ" claim marks it as an access token, so it is never accepted as a refresh token.
      *
      * @param userDetails User details to generate the token.
      * @return JWT token.
@@ -48,11 +73,17 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public String generateJwtToken(UserDetails userDetails) {
         // Generate a JWT token for the user, signed with the secret key and with an expiration time.
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userDetails.getUsername())
+                .claim(TYPE_CLAIM, VerifiedJwt.ACCESS_TYPE)
+                .claim(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        if (userDetails instanceof AuthUser authUser) {
+            builder.claim(VERSION_CLAIM, authUser.getTokenVersion());
+        }
+        return builder
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -60,59 +91,59 @@ public class JwtServiceImpl implements JwtService {
      * Generates a secret key to sign the JWT token.
      * This method complies with the JJWT library requirements version 12.5.0.
      *
+     * @param jwtSecret Secret used to sign the tokens.
      * @return Secret key.
      * @see SecretKey
      * @see Keys
      */
-    private SecretKey getSignInKey() {
+    private static SecretKey getSignInKey(String jwtSecret) {
         // Convert the secret key to a byte array and generate a SecretKey object from it.
         byte[] keyBytes = jwtSecret.getBytes();
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
     /**
-     * Extracts the username from the JWT token.
-     * Claims are the payload of the JWT token.
+     * Parses and verifies the JWT token once, and returns its claims.
+     * The signature and the expiration are verified by the parser,
+     * so an invalid or expired token throws a JwtException.
      *
      * @param token JWT token.
-     * @return Username.
+     * @return The verified claims of the token.
      */
     @Override
-    public String getUsernameFromToken(String token) {
-        // Extract the username from the JWT token.
-        return extractClaim(token, Claims::getSubject);
+    public VerifiedJwt parseToken(String token) {
+        // Verify the JWT token with the secret key and extract all claims from it.
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        return new VerifiedJwt(claims.getSubject(), claims.getExpiration(), extractRoles(claims),
+                claims.get(VERSION_CLAIM, Integer.class), claims.getId(), claims.get(FAMILY_CLAIM, String.class),
+                claims.get(TYPE_CLAIM, String.class));
     }
 
     /**
-     * Extracts a claim from the JWT token.
-     * Claims are the payload of the JWT token.
+     * Extracts the role names from the claims of the JWT token.
      *
-     * @param token          JWT token.
-     * @param claimsResolver Function to extract the claim.
-     * @param <T>            Type of the claim.
-     * @return Claim.
+     * @param claims Claims of the JWT token.
+     * @return The role names, or an empty list if the token has no roles.
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        // Extract all claims from the JWT token and apply the claimsResolver function to extract a specific claim.
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private static List<String> extractRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof List<?> roleList)) {
+            return List.of();
+        }
+        return roleList.stream().map(String::valueOf).toList();
     }
 
-
     /**
-     * Extracts all claims from the JWT token.
+     * Extracts the username from the JWT token.
      * Claims are the payload of the JWT token.
      *
      * @param token JWT token.
-     * @return All claims from the JWT token.
+     * @return Username.
      */
-    private Claims extractAllClaims(String token) {
-        // Verify the JWT token with the secret key and extract all claims from it.
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    @Override
+    public String getUsernameFromToken(String token) {
+        // Extract the username from the JWT token.
+        return parseToken(token).subject();
     }
 
     /**
@@ -129,8 +160,7 @@ public class JwtServiceImpl implements JwtService {
         /* Validate the JWT token
         by checking if the username in the token matches the username in the UserDetails object
         and if the token is not expired. */
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return parseToken(token).isValidFor(userDetails);
     }
 
     /**
@@ -142,23 +172,13 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean isTokenExpired(String token) {
         // Check if the expiration date of the token is before the current date.
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts the expiration date from the JWT token.
-     *
-     * @param token JWT token.
-     * @return Expiration date.
-     */
-    private Date extractExpiration(String token) {
-        // Extract the expiration date from the JWT token.
-        return extractClaim(token, Claims::getExpiration);
+        return parseToken(token).isExpired();
     }
 
     /**
      * Generates a JWT token for a given user with the claims provided.
      * The token is signed with the secret key and has an expiration time.
+     * The "typ" claim marks it as a refresh token, so the JwtAuthFilter never accepts it as an access token.
      *
      * @param claims      Claims to add to the token.
      * @param userDetails User details to generate the token.
@@ -171,10 +191,11 @@ public class JwtServiceImpl implements JwtService {
         return Jwts
                 .builder()
                 .claims(claims)
+                .claim(TYPE_CLAIM, VerifiedJwt.REFRESH_TYPE)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtRefreshExpiration))
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
 }
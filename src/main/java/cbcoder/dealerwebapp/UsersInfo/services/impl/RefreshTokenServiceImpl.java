@@ -0,0 +1,192 @@
+package cbcoder.dealerwebapp.UsersInfo.services.impl;
+
+import cbcoder.dealerwebapp.UsersInfo.model.RefreshToken;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.repositories.RefreshTokenRepository;
+import cbcoder.dealerwebapp.UsersInfo.security.AuthUser;
+import cbcoder.dealerwebapp.UsersInfo.security.RevokedTokenRegistry;
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
+import cbcoder.dealerwebapp.UsersInfo.services.JwtService;
+import cbcoder.dealerwebapp.UsersInfo.services.RefreshTokenService;
+import cbcoder.dealerwebapp.exceptions.InvalidRefreshTokenException;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * RefreshTokenServiceImpl class implements the RefreshTokenService interface.
+ * Every refresh token has an id (the "jti" claim) and a family (the "fid" claim), and is stored in the REFRESH_TOKENS table.
+ * A login starts a new family. A refresh rotates the token: the token presented is marked as used,
+ * and a new token of the same family is issued, so every refresh token can be used once.
+ * A token presented again after it was used (or revoked) is a reuse, e.g., a stolen token:
+ * the whole family is revoked, and the legitimate user has to log in again.
+ * The revoked tokens are rejected from memory by the RevokedTokenRegistry, and an active token is rotated by a single
+ * conditional update, without reading the token first.
+ * The registry is updated after the transaction is committed, and the expired tokens are purged periodically.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see RefreshTokenService
+ * @see RefreshTokenRepository
+ * @see RevokedTokenRegistry
+ * @since 2026-10-17
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final JwtService jwtService;
+    private final long refreshExpiration;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, RevokedTokenRegistry revokedTokenRegistry,
+                                   JwtService jwtService,
+                                   @Value("${dealer-webapp.security.jwt.expiration-refresh}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.jwtService = jwtService;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Issue the first refresh token of a new family, on login.
+     *
+     * @param user - the user logging in.
+     * @return the refresh token.
+     */
+    @Override
+    @Transactional
+    public String issue(User user) {
+        return issue(UUID.randomUUID().toString(), UUID.randomUUID().toString(), user);
+    }
+
+    /**
+     * Rotate the refresh token: mark it as used and issue the next token of its family.
+     * If the token was already used or revoked, the family is revoked (and the revocation committed).
+     *
+     * @param refreshToken - the verified refresh token presented by the client.
+     * @param user         - the user of the refresh token.
+     * @return the next refresh token of the family.
+     * @throws InvalidRefreshTokenException if the token has no id or family (issued before the token store),
+     *                                      or if it is a reuse.
+     */
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public String rotate(VerifiedJwt refreshToken, User user) {
+        if (refreshToken.id() == null || refreshToken.family() == null) {
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+        if (revokedTokenRegistry.isRevoked(refreshToken.id())) {
+            revokeReusedFamily(refreshToken);
+        }
+        String nextTokenId = UUID.randomUUID().toString();
+        // Only one of the concurrent refreshes with the same token marks it as used.
+        if (refreshTokenRepository.rotate(refreshToken.id(), nextTokenId, LocalDateTime.now()) == 0) {
+            revokeReusedFamily(refreshToken);
+        }
+        List<String> usedTokenIds = List.of(refreshToken.id());
+        afterCommit(() -> revokedTokenRegistry.revoke(usedTokenIds));
+        return issue(nextTokenId, refreshToken.family(), user);
+    }
+
+    /**
+     * Revoke the family of the refresh token, on logout.
+     *
+     * @param refreshToken - the verified refresh token presented by the client.
+     * @throws InvalidRefreshTokenException if the token has no family (issued before the token store).
+     */
+    @Override
+    @Transactional
+    public void revokeFamily(VerifiedJwt refreshToken) {
+        if (refreshToken.family() == null) {
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+        revokeFamily(refreshToken.family());
+    }
+
+    /**
+     * Revoke all the refresh tokens of the user, on logout from all the sessions or when the user is deleted.
+     *
+     * @param userId - the id of the user.
+     */
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        List<String> tokenIds = refreshTokenRepository.findActiveTokenIdsByUserId(userId);
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+        afterCommit(() -> revokedTokenRegistry.revoke(tokenIds));
+    }
+
+    /**
+     * Delete the expired refresh tokens, which are rejected by their signature anyway.
+     */
+    @Scheduled(fixedDelayString = "${dealer-webapp.security.refresh-tokens.purge-interval:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.debug("Purged {} expired refresh tokens", purged);
+    }
+
+    /**
+     * This private method revokes the family of a reused refresh token, and rejects the refresh.
+     *
+     * @param refreshToken - the reused refresh token.
+     * @throws InvalidRefreshTokenException always.
+     */
+    private void revokeReusedFamily(VerifiedJwt refreshToken) {
+        logger.warn("Refresh token reuse detected, revoking the token family {}", refreshToken.family());
+        revokeFamily(refreshToken.family());
+        throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+    }
+
+    private void revokeFamily(String familyId) {
+        List<String> tokenIds = refreshTokenRepository.findActiveTokenIdsByFamilyId(familyId);
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+        afterCommit(() -> revokedTokenRegistry.revoke(tokenIds));
+    }
+
+    private String issue(String tokenId, String familyId, User user) {
+        LocalDateTime issuedAt = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(tokenId, familyId, user.getUserId(), issuedAt,
+                issuedAt.plus(refreshExpiration, ChronoUnit.MILLIS)));
+        return jwtService.generateRefreshJwtToken(Map.of(Claims.ID, tokenId, JwtServiceImpl.FAMILY_CLAIM, familyId),
+                new AuthUser(user));
+    }
+
+    /**
+     * This private method runs the task once the current transaction is committed,
+     * so the registry never holds a revocation which was rolled back.
+     */
+    private static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -4,10 +4,13 @@ import cbcoder.dealerwebapp.UsersInfo.Dtos.UserDto;
 import cbcoder.dealerwebapp.UsersInfo.model.Role;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
-import cbcoder.dealerwebapp.UsersInfo.repositories.RoleRepository;
 import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
+import cbcoder.dealerwebapp.UsersInfo.security.RoleRegistry;
+import cbcoder.dealerwebapp.UsersInfo.services.RefreshTokenService;
 import cbcoder.dealerwebapp.UsersInfo.services.SuperAdminService;
+import cbcoder.dealerwebapp.UsersInfo.services.UserSecurityService;
 import cbcoder.dealerwebapp.exceptions.*;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +28,9 @@ import java.util.Optional;
  * SuperAdminServiceImpl class implements SuperAdminService interface and provides the implementation of the methods declared in the interface.
  * In this class, we have implemented the methods to add and revoke the admin role to the user.
  * The super admin will have the authority to add and revoke the admin role to the user.
+ * Every role change bumps the token version of the user, so the access tokens carrying the previous roles are rejected,
+ * and evicts the cached principal of the user, so the new roles are used by the next request.
+ * The methods are recorded as the "superadmin.service" timer, tagged by method (see MetricsConfig).
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -33,16 +39,22 @@ import java.util.Optional;
  * @since 2024-06-15
  */
 @Service
+@Timed(value = "superadmin.service", histogram = true)
 public class SuperAdminServiceImpl implements SuperAdminService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final UserSecurityService userSecurityService;
+    private final RefreshTokenService refreshTokenService;
 
-    public SuperAdminServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public SuperAdminServiceImpl(UserRepository userRepository, RoleRegistry roleRegistry, PasswordEncoder passwordEncoder,
+                                 UserSecurityService userSecurityService, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.userSecurityService = userSecurityService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -76,7 +88,7 @@ public class SuperAdminServiceImpl implements SuperAdminService {
         } else {
             user.getRoles().add(adminRole);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            return saveAndEvict(user);
         }
     }
 
@@ -104,7 +116,7 @@ public class SuperAdminServiceImpl implements SuperAdminService {
         } else {
             user.getRoles().remove(adminRole);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            return saveAndEvict(user);
         }
     }
 
@@ -142,10 +154,9 @@ public class SuperAdminServiceImpl implements SuperAdminService {
             user.setLastName(userDto.getLastName());
             user.setEnabled(true);
         }
-        Role superAdminRole = roleRepository.findByRoleName(RoleEnum.ROLE_SUPERADMIN)
-                .orElseThrow(() -> new RoleNotFoundException("Role not found."));
+        Role superAdminRole = roleRegistry.getRole(RoleEnum.ROLE_SUPERADMIN);
         user.getRoles().add(superAdminRole);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     /**
@@ -161,7 +172,7 @@ public class SuperAdminServiceImpl implements SuperAdminService {
      * If the user has the super admin role, then it will check the super admin count in the database.
      * If the super admin count is less than 2, then it will throw an exception.
      * Because at least one super admin should be in the database.
-     * If the super admin count is greater than 1, then it will delete the user information.
+     * If the super admin count is greater than 1, then it will revoke the refresh tokens of the user and delete the user information.
      *
      * @param userId The user id to delete the super admin role from the user.
      */
@@ -176,14 +187,16 @@ public class SuperAdminServiceImpl implements SuperAdminService {
         if (user.getEmail().equals(currentPrincipalName)) {
             throw new NotAuthorizedAccessException("Super admin cannot delete own role.");
         }
-        Role superAdminRole = roleRepository.findByRoleName(RoleEnum.ROLE_SUPERADMIN)
-                .orElseThrow(() -> new RoleNotFoundException("Role not found."));
+        Role superAdminRole = roleRegistry.getRole(RoleEnum.ROLE_SUPERADMIN);
         if (user.getRoles().contains(superAdminRole)) {
             long superAdminCount = userRepository.countByRolesContaining(superAdminRole);
             if (superAdminCount < 2) {
                 throw new SuperAdminCountException("At least one super admin should be in the database.");
             }
+            // Revoke the refresh tokens of the user, they are not linked to the user by a foreign key.
+            refreshTokenService.revokeAll(user.getUserId());
             userRepository.delete(user);
+            userSecurityService.evictUserDetails(user.getEmail());
         } else {
             throw new RoleNotFoundException("User does not have super admin role.");
         }
@@ -212,15 +225,14 @@ public class SuperAdminServiceImpl implements SuperAdminService {
             throw new NotAuthorizedAccessException("Only super admin can revoke super admin role from user.");
         }
         User user = getUserById(userId);
-        Role superAdminRole = roleRepository.findByRoleName(RoleEnum.ROLE_SUPERADMIN)
-                .orElseThrow(() -> new RoleNotFoundException("Role not found."));
+        Role superAdminRole = roleRegistry.getRole(RoleEnum.ROLE_SUPERADMIN);
 
         if (!user.getRoles().contains(superAdminRole) || user.getRoles().size() == 1) {
             throw new RoleNotFoundException("User does not have super admin role or it has only one role.");
         } else {
             user.getRoles().remove(superAdminRole);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            return saveAndEvict(user);
         }
     }
 
@@ -248,8 +260,21 @@ public class SuperAdminServiceImpl implements SuperAdminService {
      * @return The role information.
      */
     private Role getRoleByName() {
-        return roleRepository.findByRoleName(RoleEnum.ROLE_ADMIN)
-                .orElseThrow(() -> new RoleNotFoundException("Role not found."));
+        return roleRegistry.getRole(RoleEnum.ROLE_ADMIN);
+    }
+
+    /**
+     * This method will bump the token version of the user, save the user information and evict the cached principal of the user,
+     * so the changed roles are used by the next request of the user.
+     *
+     * @param user The user information to be saved.
+     * @return The saved user information.
+     */
+    private User saveAndEvict(User user) {
+        user.bumpTokenVersion();
+        User savedUser = userRepository.save(user);
+        userSecurityService.evictUserDetails(savedUser.getEmail());
+        return savedUser;
     }
 
     private Authentication getAuthentication() {
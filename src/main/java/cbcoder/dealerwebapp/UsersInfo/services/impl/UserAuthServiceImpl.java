@@ -1,15 +1,20 @@
 package cbcoder.dealerwebapp.UsersInfo.services.impl;
 
 import cbcoder.dealerwebapp.UsersInfo.Dtos.*;
+import cbcoder.dealerwebapp.UsersInfo.mappers.UserMapper;
 import cbcoder.dealerwebapp.UsersInfo.model.Role;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
-import cbcoder.dealerwebapp.UsersInfo.repositories.RoleRepository;
 import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
 import cbcoder.dealerwebapp.UsersInfo.security.AuthUser;
+import cbcoder.dealerwebapp.UsersInfo.security.PasswordHashingExecutor;
+import cbcoder.dealerwebapp.UsersInfo.security.RoleRegistry;
+import cbcoder.dealerwebapp.UsersInfo.security.VerifiedJwt;
 import cbcoder.dealerwebapp.UsersInfo.services.JwtService;
+import cbcoder.dealerwebapp.UsersInfo.services.RefreshTokenService;
 import cbcoder.dealerwebapp.UsersInfo.services.UserAuthService;
 import cbcoder.dealerwebapp.exceptions.*;
-import org.modelmapper.ModelMapper;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,7 +23,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -31,37 +35,47 @@ import java.util.Set;
  * </br>
  * The UserAuthServiceImpl class implements the UserAuthService interface and provides methods to register a new user,
  * log in a user and refresh the JWT token.
- * The class uses the UserRepository, PasswordEncoder, JwtService, AuthenticationManager, RoleRepository and ModelMapper
+ * The class uses the UserRepository, PasswordEncoder, JwtService, AuthenticationManager, RoleRegistry and UserMapper
  * to provide the services.
+ * The password hashes and checks run on the PasswordHashingExecutor, which rejects the requests when it is saturated.
+ * The refresh tokens are issued, rotated and revoked by the RefreshTokenService.
  * The class provides the register, login and refreshToken methods to register a new user, log in a user and refresh the JWT token.
  * The register method registers a new user using the information provided in the request body and returns the user object.
  * The login method logs in the user using the email and password provided in the request body and returns the JWT token and refresh token.
  * The refreshToken method refreshes the JWT token using the refresh token provided by the user in the request body and returns the new JWT token.
+ * The logout method revokes the refresh token provided by the user, with all the tokens refreshed from the same login.
+ * The methods are recorded as the "auth.service" timer, tagged by method (see MetricsConfig).
  *
  * @author Cleber Balbinote
  * @version 1.0
  * @apiNote This class is part of the UsersInfo feature.
- * @implNote The class uses the UserRepository, PasswordEncoder, JwtService, AuthenticationManager, RoleRepository and ModelMapper to provide the services.
+ * @implNote The class uses the UserRepository, PasswordEncoder, JwtService, AuthenticationManager, RoleRegistry and UserMapper to provide the services.
  * @since 2024-06-15
  */
 @Service
+@Timed(value = "auth.service", histogram = true)
 public class UserAuthServiceImpl implements UserAuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final RoleRegistry roleRegistry;
+    private final UserMapper userMapper;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
 
     public UserAuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
-                               AuthenticationManager authenticationManager, RoleRepository roleRepository, ModelMapper modelMapper) {
+                               AuthenticationManager authenticationManager, RoleRegistry roleRegistry, UserMapper userMapper,
+                               PasswordHashingExecutor passwordHashingExecutor, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
-        this.roleRepository = roleRepository;
-        this.modelMapper = modelMapper;
+        this.roleRegistry = roleRegistry;
+        this.userMapper = userMapper;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -77,6 +91,7 @@ public class UserAuthServiceImpl implements UserAuthService {
      *
      * @param signUpRequest the sign-up request containing the first name, last name, email, password and roles to be used to create the user.
      * @return the user object created using the first name, last name, email, password and roles.
+     * @throws TooManyRequestsException if the password hashing executor is saturated.
      */
     @Override
     public User register(SignUpRequest signUpRequest) {
@@ -90,11 +105,12 @@ public class UserAuthServiceImpl implements UserAuthService {
         if (signUpRequest.password().length() < 8) {
             throw new PasswordTooShortException("Password must be at least 8 characters long");
         }
-        userDto.setPassword(passwordEncoder.encode(signUpRequest.password()));
+        userDto.setPassword(passwordHashingExecutor.execute("register",
+                () -> passwordEncoder.encode(signUpRequest.password())));
         userDto.setEnabled(true);
         Set<Role> roles = new LinkedHashSet<>();
         signUpRequest.roles().forEach(role -> {
-            Optional<Role> roleOptional = roleRepository.findByRoleName(role.getRoleName());
+            Optional<Role> roleOptional = roleRegistry.findRole(role.getRoleName());
             if (roleOptional.isPresent()) {
                 roles.add(roleOptional.get());
             } else {
@@ -102,7 +118,7 @@ public class UserAuthServiceImpl implements UserAuthService {
             }
         });
         userDto.setRoles(roles);
-        User user = modelMapper.map(userDto, User.class);
+        User user = userMapper.toEntity(userDto);
         return userRepository.save(user);
     }
 
@@ -117,6 +133,7 @@ public class UserAuthServiceImpl implements UserAuthService {
      *
      * @param signInRequest the sign in request containing the email and password to be used to generate the JWT token.
      * @return the JWT token and refresh token generated using the email and password.
+     * @throws TooManyRequestsException if the password hashing executor is saturated.
      */
     @Override
     public JwtAuthResponse login(SignInRequest signInRequest) {
@@ -126,13 +143,14 @@ public class UserAuthServiceImpl implements UserAuthService {
                 throw new UserNotEnabledException("User is not enabled");
             }
 
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(signInRequest.email(), signInRequest.password()));
+            passwordHashingExecutor.execute("login", () -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(signInRequest.email(), signInRequest.password())));
 
             AuthUser user = new AuthUser(loginUser);
 
             var jwt = jwtService.generateJwtToken(user);
-            var refreshToken = jwtService.generateRefreshJwtToken(new HashMap<>(), user);
+            // A login starts a new family of refresh tokens.
+            var refreshToken = refreshTokenService.issue(loginUser);
 
             return new JwtAuthResponse(jwt, refreshToken);
         } catch (AuthenticationException e) {
@@ -150,21 +168,59 @@ public class UserAuthServiceImpl implements UserAuthService {
      * If the refresh token is valid, a new JWT token is generated and returned.
      * Passing the email, token and refresh token into the body request at client side will return the new JWT token.
      * The Token is valid for 24 hours, and the refresh token is valid for 7 days. After 7 days, the user will have to log in again.
+     * The refresh token is rotated: the new refresh token is returned, and the refresh token provided can not be used again.
+     * Using it again revokes all the refresh tokens of the same login.
      *
      * @param refreshTokenRequest the refresh token request containing the refresh token to be used to generate the new JWT token.
-     * @return the new JWT token generated using the refresh token.
+     * @return the new JWT token and the new refresh token.
+     * @throws InvalidRefreshTokenException if the refresh token is invalid, expired, revoked or already used.
      */
     @Override
     public JwtAuthResponse refreshToken(RefreshTokenRequest refreshTokenRequest) {
-        String email = jwtService.getUsernameFromToken(refreshTokenRequest.getRefreshToken());
-        var user = userRepository.findByEmail(email).orElseThrow(() -> new IllegalArgumentException("Invalid email"));
+        VerifiedJwt verifiedJwt = parseRefreshToken(refreshTokenRequest);
+        var user = userRepository.findByEmail(verifiedJwt.subject())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
         AuthUser authUser = new AuthUser(user);
-        if (jwtService.validateToken(refreshTokenRequest.getRefreshToken(), authUser)) {
+        if (verifiedJwt.isValidFor(authUser)) {
+            var refreshToken = refreshTokenService.rotate(verifiedJwt, user);
             var jwt = jwtService.generateJwtToken(authUser);
-            var refreshToken = jwtService.generateRefreshJwtToken(new HashMap<>(), authUser);
             return new JwtAuthResponse(jwt, refreshToken);
         } else {
-            throw new IllegalArgumentException("Invalid refresh token");
+            throw new InvalidRefreshTokenException("Invalid refresh token");
         }
     }
+
+    /**
+     * Logs out the user, revoking the refresh token provided by the user in the request body,
+     * with all the refresh tokens refreshed from the same login. The other logins of the user are not logged out.
+     * The access tokens already issued stay valid until they expire.
+     *
+     * @param refreshTokenRequest the refresh token request containing the refresh token to be revoked.
+     * @throws InvalidRefreshTokenException if the refresh token is invalid or expired.
+     */
+    @Override
+    public void logout(RefreshTokenRequest refreshTokenRequest) {
+        refreshTokenService.revokeFamily(parseRefreshToken(refreshTokenRequest));
+    }
+
+    /**
+     * This private method parses and verifies the refresh token of the request.
+     * An access token is rejected, it can't be used to refresh or to log out.
+     *
+     * @param refreshTokenRequest the refresh token request.
+     * @return the verified refresh token.
+     * @throws InvalidRefreshTokenException if the refresh token is missing, invalid, expired or an access token.
+     */
+    private VerifiedJwt parseRefreshToken(RefreshTokenRequest refreshTokenRequest) {
+        VerifiedJwt verifiedJwt;
+        try {
+            verifiedJwt = jwtService.parseToken(refreshTokenRequest.getRefreshToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        if (!verifiedJwt.isRefreshToken()) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        return verifiedJwt;
+    }
 }
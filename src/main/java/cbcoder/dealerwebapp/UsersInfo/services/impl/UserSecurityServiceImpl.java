@@ -2,12 +2,21 @@ package cbcoder.dealerwebapp.UsersInfo.services.impl;
 
 import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
 import cbcoder.dealerwebapp.UsersInfo.security.AuthUser;
+import cbcoder.dealerwebapp.UsersInfo.security.TokenVersionRegistry;
 import cbcoder.dealerwebapp.UsersInfo.services.UserSecurityService;
+import cbcoder.dealerwebapp.globalConfig.CacheLoaders;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 /**
  * <p>Copyright (c) 2024, Cleber Balbinote.</p>
  * <p>All rights reserved.</p>
@@ -20,6 +29,12 @@ import org.springframework.stereotype.Service;
  * The method uses the UserRepository to fetch the user details from the database.
  * If the user is not found, it throws a UsernameNotFoundException.
  * The method returns an instance of AuthUser which implements UserDetails interface.
+ * The loaded user details are kept in a bounded principal cache, so an authenticated request doesn't query the USERS table.
+ * The cached entries expire after the configured time to live,
+ * and they are evicted by the user services whenever the user, its password or its roles change.
+ * The cache hits, misses and evictions are published as the "principals" cache metrics.
+ * The eviction also drops the token version of the user from the TokenVersionRegistry.
+ * The principals are loaded on a virtual thread of the CacheLoaders, not inside the lock of the cache.
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -30,28 +45,52 @@ import org.springframework.stereotype.Service;
 public class UserSecurityServiceImpl implements UserSecurityService {
 
     private final UserRepository userRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final AsyncCache<String, UserDetails> principals;
+    private final UserDetailsService userDetailsService;
 
-    public UserSecurityServiceImpl(UserRepository userRepository) {
+    public UserSecurityServiceImpl(UserRepository userRepository, TokenVersionRegistry tokenVersionRegistry,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${dealer-webapp.security.principal-cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${dealer-webapp.security.principal-cache.time-to-live:300000}") long timeToLive) {
         this.userRepository = userRepository;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(timeToLive))
+                .executor(CacheLoaders.EXECUTOR)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals.synchronous(), "principals");
+        this.userDetailsService = this::loadUserByUsername;
     }
 
     /**
-     * This method is used by the Spring Security to load the user details from the database.
-     * The method uses the UserRepository to fetch the user details from the database.
+     * This method is used by the Spring Security to load the user details.
+     * The user details are read from the principal cache, and loaded from the database on a cache miss.
      * If the user is not found, it throws a UsernameNotFoundException.
      * The method returns an instance of AuthUser which implements UserDetails interface.
      */
     @Override
     public UserDetailsService userDetailsService() {
-        // Lambda expression to implement the loadUserByUsername method of the UserDetailsService interface
-        // and return an instance of AuthUser which implements UserDetails interface.
-        return new UserDetailsService() {
-            @Override
-            public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-                return userRepository.findByEmail(email)
-                        .map(AuthUser::new)
-                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            }
-        };
+        return userDetailsService;
+    }
+
+    /**
+     * Evict the cached user details of the given user.
+     *
+     * @param email - the email of the user that was changed or deleted.
+     */
+    @Override
+    public void evictUserDetails(String email) {
+        principals.synchronous().invalidate(email);
+        tokenVersionRegistry.evict(email);
+    }
+
+    private UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // The missing users are not cached, the failed load is removed and its exception is thrown.
+        return CacheLoaders.join(principals.get(email, key -> userRepository.findByEmail(key)
+                .map(AuthUser::new)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"))));
     }
 }
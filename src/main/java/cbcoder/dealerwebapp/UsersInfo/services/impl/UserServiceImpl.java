@@ -4,14 +4,17 @@ import cbcoder.dealerwebapp.UsersInfo.Dtos.UserDto;
 import cbcoder.dealerwebapp.UsersInfo.model.Role;
 import cbcoder.dealerwebapp.UsersInfo.model.User;
 import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
-import cbcoder.dealerwebapp.UsersInfo.repositories.RoleRepository;
 import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
+import cbcoder.dealerwebapp.UsersInfo.security.PasswordHashingExecutor;
+import cbcoder.dealerwebapp.UsersInfo.security.RoleRegistry;
+import cbcoder.dealerwebapp.UsersInfo.services.RefreshTokenService;
+import cbcoder.dealerwebapp.UsersInfo.services.UserSecurityService;
 import cbcoder.dealerwebapp.UsersInfo.services.UserService;
 import cbcoder.dealerwebapp.exceptions.EmailNotBindingException;
 import cbcoder.dealerwebapp.exceptions.OperationNotPermittedException;
 import cbcoder.dealerwebapp.exceptions.PasswordTooShortException;
 import cbcoder.dealerwebapp.exceptions.UserNotFoundException;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -38,6 +41,7 @@ import java.util.Set;
  * The user will only have the authority to update their first name, last name and password.
  * In the controller class we will determine the role of the user, and based on the role we will provide access to the methods.
  * The class SecurityConfig will set the endpoints and the roles of the users to access the specific endpoints.
+ * The methods are recorded as the "users.service" timer, tagged by method (see MetricsConfig).
  *
  * @author Cleber Balbinote
  * @version 1.0
@@ -48,20 +52,27 @@ import java.util.Set;
  */
 
 @Service
+@Timed(value = "users.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     // Constants for the exception messages to avoid hardcoding.
     private static final String USER_NOT_FOUND = "User not found with the given id ";
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final RoleRegistry roleRegistry;
+    private final UserSecurityService userSecurityService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, RoleRepository roleRepository, ModelMapper modelMapper) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, RoleRegistry roleRegistry,
+                           UserSecurityService userSecurityService, PasswordHashingExecutor passwordHashingExecutor,
+                           RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.roleRepository = roleRepository;
-        this.modelMapper = modelMapper;
+        this.roleRegistry = roleRegistry;
+        this.userSecurityService = userSecurityService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -98,17 +109,20 @@ public class UserServiceImpl implements UserService {
         userToUpdate.setUpdatedAt(LocalDateTime.now());
         userToUpdate.setEnabled(userDto.isEnabled());
         Set<Role> roles = new LinkedHashSet<>();
-        // Get the roles from the database. And add the roles to the user.
+        // Get the roles from the role registry. And add the roles to the user.
         userDto.getRoles().forEach(roleDto -> {
-            Optional<Role> role = roleRepository.findByRoleName(RoleEnum.valueOf(roleDto.getRoleName().name()));
+            Optional<Role> role = roleRegistry.findRole(RoleEnum.valueOf(roleDto.getRoleName().name()));
             role.ifPresent(roles::add);
         });
         // Set the roles to the user.
         userToUpdate.setRoles(roles);
-        // Transform the userDto to the user entity.
-        User updatedUser = modelMapper.map(userToUpdate, User.class);
+        // Bump the token version, so the access tokens with the previous roles are rejected.
+        userToUpdate.bumpTokenVersion();
         // Save the updated user information in the database.
-        return userRepository.save(updatedUser);
+        User updatedUser = userRepository.save(userToUpdate);
+        // Evict the cached principal, so the new roles and enabled status are used by the next request.
+        userSecurityService.evictUserDetails(updatedUser.getEmail());
+        return updatedUser;
     }
 
     /**
@@ -151,12 +165,18 @@ public class UserServiceImpl implements UserService {
             if (userDto.getPassword().length() < 8) {
                 throw new PasswordTooShortException("Password must be at least 8 characters long");
             }
-            // Encode the password and update the user password.
-            userToUpdate.setPassword(passwordEncoder.encode(userDto.getPassword()));
+            // Encode the password on the password hashing executor and update the user password.
+            userToUpdate.setPassword(passwordHashingExecutor.execute("update",
+                    () -> passwordEncoder.encode(userDto.getPassword())));
             // Set the updated date and time to the user.
             userToUpdate.setUpdatedAt(LocalDateTime.now());
+            // Bump the token version, so the access tokens issued with the previous password are rejected.
+            userToUpdate.bumpTokenVersion();
             // Save the updated user information in the database.
-            return userRepository.save(userToUpdate);
+            User updatedUser = userRepository.save(userToUpdate);
+            // Evict the cached principal, so the new password is used by the next request.
+            userSecurityService.evictUserDetails(updatedUser.getEmail());
+            return updatedUser;
         } else {
             // If the user is not found with the given ID, then it will throw an exception.
             throw new UserNotFoundException(USER_NOT_FOUND + userId);
@@ -186,6 +206,10 @@ public class UserServiceImpl implements UserService {
             User userToDelete = userOptional.get();
             // Delete the user information from the database based on the user id.
             userRepository.delete(userToDelete);
+            // Revoke the refresh tokens of the user, they are not linked to the user by a foreign key.
+            refreshTokenService.revokeAll(userToDelete.getUserId());
+            // Evict the cached principal, so the deleted user is not authenticated anymore.
+            userSecurityService.evictUserDetails(userToDelete.getEmail());
             return "User deleted successfully!";
         }
         throw new UserNotFoundException(USER_NOT_FOUND + userId);
@@ -231,4 +255,23 @@ public class UserServiceImpl implements UserService {
         }
         throw new UserNotFoundException(USER_NOT_FOUND + userId);
     }
+
+    /**
+     * This method will log out the current user from all the sessions.
+     * All the refresh tokens of the user are revoked, and the token version of the user is bumped,
+     * so the access tokens already issued are rejected too.
+     * If the current user is not found, then it will throw an exception.
+     */
+    @Override
+    public void logoutAll() {
+        // Get the current user email from the authentication context.
+        String currentPrincipalName = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(currentPrincipalName)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        refreshTokenService.revokeAll(user.getUserId());
+        user.bumpTokenVersion();
+        userRepository.save(user);
+        // Evict the cached principal and token version, so the previous access tokens are rejected at once.
+        userSecurityService.evictUserDetails(user.getEmail());
+    }
 }
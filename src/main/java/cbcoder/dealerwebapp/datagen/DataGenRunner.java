@@ -0,0 +1,104 @@
+package cbcoder.dealerwebapp.datagen;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarStats;
+import cbcoder.dealerwebapp.Cars.services.CarStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * DataGenRunner loads a synthetic dataset when the application is started with the "datagen" profile
+ * (see application-datagen.yml), e.g. with the profiles "dev,datagen".
+ * The size, the seed and the "as of" date of the dataset are read from the "dealer-webapp.datagen" properties,
+ * so they can be given on the command line. The same seed and "as of" date always give the same dataset.
+ * The load is refused while the application is running against the same database (its connections are found by their
+ * application name), as its in-memory search index, stock counters and listing ETags would not see the loaded cars.
+ * The stock summary of the cars is rebuilt after every load, with or without reset,
+ * and the application exits unless "exit" is false.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see DealershipDataGenerator
+ * @see DealershipDataLoader
+ * @since 2026-10-17
+ */
+@Component
+@Profile("datagen")
+public class DataGenRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataGenRunner.class);
+
+    private final DealershipDataLoader dataLoader;
+    private final CarStatsService carStatsService;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+    private final int cars;
+    private final int users;
+    private final long seed;
+    private final String asOf;
+    private final int chunkSize;
+    private final String password;
+    private final boolean reset;
+    private final boolean exit;
+    private final String applicationName;
+
+    public DataGenRunner(DealershipDataLoader dataLoader, CarStatsService carStatsService,
+                         PasswordEncoder passwordEncoder, ConfigurableApplicationContext context,
+                         @Value("${dealer-webapp.datagen.cars:1000000}") int cars,
+                         @Value("${dealer-webapp.datagen.users:10000}") int users,
+                         @Value("${dealer-webapp.datagen.seed:42}") long seed,
+                         @Value("${dealer-webapp.datagen.as-of:}") String asOf,
+                         @Value("${dealer-webapp.datagen.chunk-size:100000}") int chunkSize,
+                         @Value("${dealer-webapp.datagen.password:password123}") String password,
+                         @Value("${dealer-webapp.datagen.reset:false}") boolean reset,
+                         @Value("${dealer-webapp.datagen.exit:true}") boolean exit,
+                         @Value("${dealer-webapp.datagen.application-name:dealer-webapp}") String applicationName) {
+        this.dataLoader = dataLoader;
+        this.carStatsService = carStatsService;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.cars = cars;
+        this.users = users;
+        this.seed = seed;
+        this.asOf = asOf;
+        this.chunkSize = chunkSize;
+        this.password = password;
+        this.reset = reset;
+        this.exit = exit;
+        this.applicationName = applicationName;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int connections = dataLoader.countConnections(applicationName);
+        if (connections > 0) {
+            throw new IllegalStateException("The application \"" + applicationName + "\" is running (" + connections
+                    + " connections to the database), stop it before loading a dataset and start it after");
+        }
+        // Without an "as of" date the dataset is relative to today, so it is only the same for the same day.
+        LocalDateTime asOfDate = asOf.isBlank() ? LocalDateTime.now() : LocalDateTime.parse(asOf);
+        logger.info("Generating {} cars and {} users with the seed {} as of {}", cars, users, seed, asOfDate);
+        DealershipDataLoader.LoadedDataset dataset = dataLoader.load(new DealershipDataGenerator(seed, asOfDate),
+                users, cars, chunkSize, passwordEncoder.encode(password), reset);
+        logger.info("Loaded {} users from id {} and {} cars from id {} in {} ms", dataset.users(), dataset.firstUserId(),
+                dataset.cars(), dataset.firstCarId(), dataset.duration().toMillis());
+        CarStats stats = carStatsService.rebuild();
+        logger.info("Rebuilt the stock summary: {} cars in stock, {} sold", stats.stockCount(), stats.soldCount());
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
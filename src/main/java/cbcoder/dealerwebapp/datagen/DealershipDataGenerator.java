@@ -0,0 +1,268 @@
+package cbcoder.dealerwebapp.datagen;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * DealershipDataGenerator generates a synthetic dealership dataset, for the load tests, the benchmarks and the integration tests.
+ * The dataset only depends on the seed and on the "as of" date: every car and user is generated from a random generator
+ * split from the seed by its id, so the same car id always gives the same car, whatever the order or the chunks
+ * the cars are generated in, and the chunks can be generated in parallel.
+ * The makes, models and colors are picked with weights, so some values are much more frequent than others
+ * (like in a real stock). About 70% of the cars are sold in the last three years, after a number of days in stock
+ * following an exponential distribution, and are handed over one to two weeks after the sale.
+ * The other cars are in stock, taken in the last four months, and most of them have pending workshop services and valeting.
+ * The reg numbers (UK format, e.g. "AB12CDE") and the chassis numbers are a bijection of the car id, so they are unique
+ * without any lookup, for the car ids below 1,188,137,600.
+ * The generator is a plain class without Spring dependencies, see DealershipDataLoader to load a dataset in PostgreSQL.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see GeneratedCar
+ * @see GeneratedUser
+ * @see DealershipDataLoader
+ * @since 2026-10-17
+ */
+public class DealershipDataGenerator {
+
+    public static final String EMAIL_DOMAIN = "datagen.dealer";
+
+    private static final String[] MAKES = {"Volkswagen", "Ford", "Toyota", "Vauxhall", "Nissan", "Kia", "Hyundai", "Audi",
+            "Peugeot", "Renault"};
+    private static final int[] MAKE_WEIGHTS = {18, 16, 12, 11, 9, 8, 8, 7, 6, 5};
+    private static final String[][] MODELS = {
+            {"Golf", "Polo", "Tiguan", "Passat"},
+            {"Fiesta", "Focus", "Kuga", "Puma"},
+            {"Yaris", "Corolla", "Aygo", "Prius"},
+            {"Corsa", "Astra", "Mokka", "Grandland"},
+            {"Micra", "Juke", "Qashqai", "Leaf"},
+            {"Picanto", "Ceed", "Sportage", "Niro"},
+            {"Tucson", "Kona", "Ioniq", "Bayon"},
+            {"A1", "A3", "Q3", "Q5"},
+            {"208", "2008", "308", "3008"},
+            {"Clio", "Captur", "Megane", "Arkana"}};
+    private static final int[] MODEL_WEIGHTS = {40, 30, 20, 10};
+    // The world manufacturer identifiers of the chassis numbers, by make.
+    private static final String[] WMIS = {"WVW", "WF0", "SB1", "W0L", "SJN", "U5Y", "TMA", "WAU", "VF3", "VF1"};
+    private static final String[] COLORS = {"Black", "White", "Grey", "Silver", "Blue", "Red", "Green", "Orange"};
+    private static final int[] COLOR_WEIGHTS = {24, 20, 18, 14, 12, 7, 3, 2};
+
+    private static final String[] FIRST_NAMES = {"Oliver", "Amelia", "George", "Olivia", "Harry", "Isla", "Jack", "Ava",
+            "Jacob", "Emily", "Noah", "Sophia", "Charlie", "Grace", "Thomas", "Lily", "Oscar", "Mia", "William", "Ella",
+            "James", "Freya", "Leo", "Chloe", "Arthur", "Evie", "Henry", "Ruby", "Alfie", "Poppy"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Taylor", "Brown", "Williams", "Wilson", "Johnson",
+            "Davies", "Robinson", "Wright", "Thompson", "Evans", "Walker", "White", "Roberts", "Green", "Hall", "Wood",
+            "Jackson", "Clarke", "Patel", "Khan", "Lewis", "Harris", "Martin", "Cooper", "King", "Lee", "Baker", "Hill"};
+    private static final String[] COMMENTS = {"Small scratch on the rear bumper", "Second key missing",
+            "Customer wants a full tank", "Tyres replaced", "Dent on the driver door", "Awaiting V5C"};
+
+    // The role mixes of the users, e.g. 55% of the users are sales.
+    private static final List<Set<RoleEnum>> ROLE_MIXES = List.of(
+            Set.of(RoleEnum.ROLE_SALES),
+            Set.of(RoleEnum.ROLE_WORKSHOP),
+            Set.of(RoleEnum.ROLE_VALETER),
+            Set.of(RoleEnum.ROLE_WORKSHOP, RoleEnum.ROLE_VALETER),
+            Set.of(RoleEnum.ROLE_ADMIN, RoleEnum.ROLE_SALES));
+    private static final int[] ROLE_MIX_WEIGHTS = {55, 20, 15, 5, 5};
+
+    private static final int SOLD_PERCENT = 70;
+    private static final int SALES_PERIOD_DAYS = 3 * 365;
+    private static final double MEAN_DAYS_IN_STOCK = 45;
+    private static final int STOCK_PERIOD_DAYS = 120;
+    private static final int USERS_PERIOD_DAYS = 5 * 365;
+    private static final int ENABLED_PERCENT = 97;
+    private static final int COMMENT_PERCENT = 10;
+
+    // The reg numbers are two letters, two digits and three letters.
+    private static final long REG_NUMBERS = 26L * 26 * 26 * 26 * 26 * 100;
+    private static final long REG_NUMBER_MULTIPLIER = 1_000_003L;
+    // The serial part of the chassis numbers has 11 digits.
+    private static final long SERIAL_NUMBERS = 100_000_000_000L;
+    private static final long SERIAL_NUMBER_MULTIPLIER = 7_777_777_777L;
+    // Split the car and the user generators, so the car with id 1 and the user with id 1 are not correlated.
+    private static final long USERS_SALT = 0x5DEECE66DL;
+
+    private final long seed;
+    private final LocalDateTime asOf;
+
+    /**
+     * @param seed - the seed of the dataset.
+     * @param asOf - the date the dataset is generated as of: the cars are sold or taken in stock before this date.
+     */
+    public DealershipDataGenerator(long seed, LocalDateTime asOf) {
+        this.seed = seed;
+        this.asOf = asOf.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Generate the users with consecutive ids.
+     *
+     * @param firstUserId - the id of the first user.
+     * @param count       - the number of users.
+     * @return the users, ordered by id.
+     */
+    public List<GeneratedUser> users(long firstUserId, int count) {
+        List<GeneratedUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(firstUserId + i));
+        }
+        return users;
+    }
+
+    /**
+     * Generate the user with the given id.
+     *
+     * @param userId - the id of the user.
+     * @return the user.
+     */
+    public GeneratedUser user(long userId) {
+        SplittableRandom random = random(userId ^ USERS_SALT);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String email = (firstName + "." + lastName + "." + userId + "@" + EMAIL_DOMAIN).toLowerCase();
+        boolean enabled = random.nextInt(100) < ENABLED_PERCENT;
+        LocalDateTime createdAt = asOf.minusSeconds(random.nextLong(USERS_PERIOD_DAYS * 86_400L));
+        Set<RoleEnum> roles = ROLE_MIXES.get(weighted(random, ROLE_MIX_WEIGHTS));
+        return new GeneratedUser(userId, firstName, lastName, email, enabled, createdAt, roles);
+    }
+
+    /**
+     * Generate the cars with consecutive ids.
+     *
+     * @param firstCarId - the id of the first car.
+     * @param count      - the number of cars.
+     * @param sellers    - the users the cars are assigned to, only the sales users are used (no user if there is none).
+     * @return the cars, ordered by id.
+     */
+    public List<GeneratedCar> cars(long firstCarId, int count, List<GeneratedUser> sellers) {
+        List<GeneratedUser> salesUsers = sellers.stream().filter(GeneratedUser::canSell).toList();
+        List<GeneratedCar> cars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cars.add(car(firstCarId + i, salesUsers));
+        }
+        return cars;
+    }
+
+    /**
+     * Generate the car with the given id.
+     *
+     * @param carId   - the id of the car, below 1,188,137,600 for the reg number to be unique.
+     * @param sellers - the users the car can be assigned to (all of them are expected to be sales users).
+     * @return the car.
+     */
+    public GeneratedCar car(long carId, List<GeneratedUser> sellers) {
+        SplittableRandom random = random(carId);
+        int make = weighted(random, MAKE_WEIGHTS);
+        String model = MODELS[make][weighted(random, MODEL_WEIGHTS)];
+        String color = COLORS[weighted(random, COLOR_WEIGHTS)];
+        int keyNumber = 1 + random.nextInt(999);
+        String comments = random.nextInt(100) < COMMENT_PERCENT ? pick(random, COMMENTS) : null;
+        Long userId = sellers.isEmpty() ? null : sellers.get(random.nextInt(sellers.size())).userId();
+
+        if (random.nextInt(100) < SOLD_PERCENT) {
+            LocalDateTime soldAt = asOf.minusSeconds(random.nextLong(SALES_PERIOD_DAYS * 86_400L));
+            long daysInStock = (long) (-MEAN_DAYS_IN_STOCK * Math.log(1 - random.nextDouble()));
+            LocalDateTime createdAt = soldAt.minusDays(daysInStock).minusSeconds(random.nextInt(86_400));
+            LocalDateTime handoverDate = soldAt.plusDays(1 + random.nextInt(14)).truncatedTo(ChronoUnit.HOURS);
+            String buyerName = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+            return new GeneratedCar(carId, MAKES[make], model, color, regNumber(carId), chassisNumber(carId, make),
+                    keyNumber, createdAt, soldAt, handoverDate, buyerName, comments, CarStatus.SOLD,
+                    EnumSet.noneOf(WorkshopServiceStatus.class), EnumSet.noneOf(ValeterStatus.class), userId);
+        }
+        LocalDateTime createdAt = asOf.minusSeconds(random.nextLong(STOCK_PERIOD_DAYS * 86_400L));
+        return new GeneratedCar(carId, MAKES[make], model, color, regNumber(carId), chassisNumber(carId, make),
+                keyNumber, createdAt, null, null, null, comments, CarStatus.STOCK,
+                pending(random, WorkshopServiceStatus.class), pending(random, ValeterStatus.class), userId);
+    }
+
+    /**
+     * The reg number of a car, e.g. "AB12CDE".
+     * The car id is multiplied by a number prime with the number of reg numbers, so consecutive ids do not give
+     * consecutive reg numbers, and two ids below the number of reg numbers never give the same reg number.
+     */
+    static String regNumber(long carId) {
+        long index = Math.floorMod(Math.multiplyExact(carId, REG_NUMBER_MULTIPLIER), REG_NUMBERS);
+        char[] chars = new char[7];
+        for (int i = 6; i >= 4; i--) {
+            chars[i] = (char) ('A' + index % 26);
+            index /= 26;
+        }
+        chars[3] = (char) ('0' + index % 10);
+        index /= 10;
+        chars[2] = (char) ('0' + index % 10);
+        index /= 10;
+        chars[1] = (char) ('A' + index % 26);
+        index /= 26;
+        chars[0] = (char) ('A' + index % 26);
+        return new String(chars);
+    }
+
+    /**
+     * The chassis number (VIN) of a car: the WMI of the make, "ZZZ" and a serial number unique by car id.
+     */
+    static String chassisNumber(long carId, int make) {
+        long serial = Math.floorMod(Math.multiplyExact(carId, SERIAL_NUMBER_MULTIPLIER), SERIAL_NUMBERS);
+        String digits = Long.toString(serial);
+        return WMIS[make] + "ZZZ" + "0".repeat(11 - digits.length()) + digits;
+    }
+
+    private SplittableRandom random(long id) {
+        // Mix the id with the seed, so close ids and close seeds give independent generators.
+        return new SplittableRandom(mix(seed + mix(id)));
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Pick the statuses pending on a stock car: none of them for a third of the cars, else each status with one chance in three.
+     */
+    private static <E extends Enum<E>> Set<E> pending(SplittableRandom random, Class<E> enumClass) {
+        Set<E> statuses = EnumSet.noneOf(enumClass);
+        if (random.nextInt(3) > 0) {
+            for (E status : enumClass.getEnumConstants()) {
+                if (random.nextInt(3) == 0) {
+                    statuses.add(status);
+                }
+            }
+        }
+        return statuses;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int value = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -0,0 +1,355 @@
+package cbcoder.dealerwebapp.datagen;
+
+import cbcoder.dealerwebapp.Cars.converters.EnumSetBitmaskConverter;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * DealershipDataLoader loads a synthetic dataset of DealershipDataGenerator in PostgreSQL.
+ * The rows are written with COPY (text format) on a single connection, without Hibernate: the users and their roles
+ * first, then the cars in chunks, each chunk with its status collections, bitmask columns and users, in its own transaction.
+ * So the memory used does not grow with the number of cars, and a million cars load in well under a minute
+ * on a local PostgreSQL.
+ * The ids start after the current max ids, and the sequences are moved after the loaded ids, so the application
+ * keeps creating cars and users as usual. With the reset option, all the cars and the previously generated users
+ * (the users with an email of the datagen domain) are deleted first.
+ * The stock summary of the cars is not maintained by the loader, CarStatsService.rebuild() is expected to run after it.
+ * A running application would not see the loaded cars (its search index, stock counters and listing ETags are kept
+ * in memory), so countConnections is used to refuse the load while the application is connected to the database.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see DealershipDataGenerator
+ * @see DataGenRunner
+ * @since 2026-10-17
+ */
+@Component
+public class DealershipDataLoader {
+    private static final Logger logger = LoggerFactory.getLogger(DealershipDataLoader.class);
+
+    private static final String COPY_USERS = "COPY users (user_id, first_name, last_name, email, password, is_enabled, "
+            + "created_at, updated_at, token_version) FROM STDIN";
+    private static final String COPY_USERS_ROLES = "COPY users_roles (user_user_id, roles_role_id) FROM STDIN";
+    private static final String COPY_CARS = "COPY cars (car_id, make, model, color, reg_number, chassis_number, "
+            + "key_number, date_created, date_updated, handover_date, buyer_name, comments, car_status, "
+            + "workshop_service_status_mask, valeter_status_mask, version) FROM STDIN";
+    private static final String COPY_WORKSHOP_SERVICE_STATUS =
+            "COPY workshop_service_status (car_car_id, workshop_service_status) FROM STDIN";
+    private static final String COPY_VALETER_STATUS = "COPY valeter_status (car_car_id, valeter_status) FROM STDIN";
+    private static final String COPY_USER_CARS = "COPY user_cars (car_id, user_id) FROM STDIN";
+    private static final String GENERATED_EMAILS = "'%@" + DealershipDataGenerator.EMAIL_DOMAIN + "'";
+
+    private final DataSource dataSource;
+
+    public DealershipDataLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Generate and load a dataset.
+     *
+     * @param generator       - the generator of the dataset.
+     * @param userCount       - the number of users.
+     * @param carCount        - the number of cars, assigned to the generated sales users.
+     * @param chunkSize       - the number of cars generated and committed at once.
+     * @param encodedPassword - the encoded password of all the users (encoding it once per user would take longer
+     *                        than loading the cars).
+     * @param reset           - true to delete all the cars and the previously generated users first.
+     * @return the ids and the counts of the loaded dataset.
+     * @throws SQLException if the dataset can not be loaded, the chunks already committed are kept.
+     */
+    public LoadedDataset load(DealershipDataGenerator generator, int userCount, int carCount, int chunkSize,
+                              String encodedPassword, boolean reset) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try {
+                if (reset) {
+                    reset(connection);
+                }
+                Map<RoleEnum, Integer> roleIds = roleIds(connection);
+                long firstUserId = maxId(connection, "SELECT MAX(user_id) FROM users") + 1;
+                List<GeneratedUser> users = generator.users(firstUserId, userCount);
+                copyUsers(pgConnection, users, encodedPassword, roleIds);
+                connection.commit();
+
+                long firstCarId = maxId(connection, "SELECT MAX(car_id) FROM cars") + 1;
+                List<GeneratedUser> sellers = users.stream().filter(GeneratedUser::canSell).toList();
+                for (int loaded = 0; loaded < carCount; loaded += chunkSize) {
+                    int count = Math.min(chunkSize, carCount - loaded);
+                    copyCars(pgConnection, generator.cars(firstCarId + loaded, count, sellers));
+                    connection.commit();
+                    logger.info("Loaded {} of {} cars", loaded + count, carCount);
+                }
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT setval('cars_seq', GREATEST((SELECT COALESCE(MAX(car_id), 1) FROM cars), "
+                            + "(SELECT last_value FROM cars_seq)))");
+                    statement.execute("SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(user_id), 1) FROM users), "
+                            + "(SELECT last_value FROM users_seq)))");
+                }
+                connection.commit();
+                analyze(connection);
+                return new LoadedDataset(firstUserId, userCount, firstCarId, carCount,
+                        Duration.ofNanos(System.nanoTime() - start));
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Count the connections to the database of the given application name, other than the connections of this loader.
+     *
+     * @param applicationName - the application name of the connections (the ApplicationName of the JDBC driver).
+     * @return the number of connections of the application.
+     * @throws SQLException if the connections can not be counted.
+     */
+    public int countConnections(String applicationName) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM pg_stat_activity WHERE application_name = ? AND pid <> pg_backend_pid()")) {
+            statement.setString(1, applicationName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * This private method deletes all the cars, and the users of a previous dataset with their roles and refresh tokens.
+     */
+    private void reset(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE user_cars, workshop_service_status, valeter_status, car_stock_summary, cars");
+            statement.execute("DELETE FROM users_roles WHERE user_user_id IN "
+                    + "(SELECT user_id FROM users WHERE email LIKE " + GENERATED_EMAILS + ")");
+            statement.execute("DELETE FROM refresh_tokens WHERE user_id IN "
+                    + "(SELECT user_id FROM users WHERE email LIKE " + GENERATED_EMAILS + ")");
+            statement.execute("DELETE FROM users WHERE email LIKE " + GENERATED_EMAILS);
+        }
+    }
+
+    private void copyUsers(PGConnection connection, List<GeneratedUser> users, String encodedPassword,
+                           Map<RoleEnum, Integer> roleIds) throws SQLException {
+        copy(connection, COPY_USERS, row -> {
+            for (GeneratedUser user : users) {
+                row.value(user.userId()).value(user.firstName()).value(user.lastName()).value(user.email())
+                        .value(encodedPassword).value(user.enabled()).value(user.createdAt()).value(user.createdAt())
+                        .value(0).end();
+            }
+        });
+        copy(connection, COPY_USERS_ROLES, row -> {
+            for (GeneratedUser user : users) {
+                for (RoleEnum role : user.roles()) {
+                    row.value(user.userId()).value(roleIds.get(role)).end();
+                }
+            }
+        });
+    }
+
+    private void copyCars(PGConnection connection, List<GeneratedCar> cars) throws SQLException {
+        copy(connection, COPY_CARS, row -> {
+            for (GeneratedCar car : cars) {
+                row.value(car.carId()).value(car.make()).value(car.model()).value(car.color()).value(car.regNumber())
+                        .value(car.chassisNumber()).value(car.keyNumber()).value(car.dateCreated())
+                        .value(car.dateUpdated()).value(car.handoverDate()).value(car.buyerName()).value(car.comments())
+                        .value(car.carStatus().name())
+                        .value(EnumSetBitmaskConverter.toMask(car.workshopServiceStatus()))
+                        .value(EnumSetBitmaskConverter.toMask(car.valeterStatus())).value(0).end();
+            }
+        });
+        copy(connection, COPY_WORKSHOP_SERVICE_STATUS, row -> {
+            for (GeneratedCar car : cars) {
+                for (WorkshopServiceStatus status : car.workshopServiceStatus()) {
+                    row.value(car.carId()).value(status.name()).end();
+                }
+            }
+        });
+        copy(connection, COPY_VALETER_STATUS, row -> {
+            for (GeneratedCar car : cars) {
+                for (ValeterStatus status : car.valeterStatus()) {
+                    row.value(car.carId()).value(status.name()).end();
+                }
+            }
+        });
+        copy(connection, COPY_USER_CARS, row -> {
+            for (GeneratedCar car : cars) {
+                if (car.userId() != null) {
+                    row.value(car.carId()).value(car.userId()).end();
+                }
+            }
+        });
+    }
+
+    private static void copy(PGConnection connection, String sql, RowsWriter rows) throws SQLException {
+        // Closing the writer ends the COPY.
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(connection, sql),
+                StandardCharsets.UTF_8), 1 << 16)) {
+            rows.write(new CopyRow(writer));
+        } catch (IOException e) {
+            throw new SQLException("Failed to copy the rows: " + sql, e);
+        } catch (UncheckedIOException e) {
+            throw new SQLException("Failed to copy the rows: " + sql, e.getCause());
+        }
+    }
+
+    private static Map<RoleEnum, Integer> roleIds(Connection connection) throws SQLException {
+        Map<RoleEnum, Integer> roleIds = new EnumMap<>(RoleEnum.class);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT role_id, role_name FROM roles")) {
+            while (resultSet.next()) {
+                roleIds.put(RoleEnum.valueOf(resultSet.getString(2)), resultSet.getInt(1));
+            }
+        }
+        if (roleIds.size() < RoleEnum.values().length) {
+            throw new SQLException("The roles are not seeded, start the application once with data.sql first");
+        }
+        return roleIds;
+    }
+
+    private static long maxId(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * This private method refreshes the planner statistics of the loaded tables, outside of a transaction.
+     */
+    private static void analyze(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users, users_roles, cars, workshop_service_status, valeter_status, user_cars");
+        }
+    }
+
+    /**
+     * The ids and counts of a loaded dataset.
+     *
+     * @param firstUserId - the id of the first user.
+     * @param users       - the number of users.
+     * @param firstCarId  - the id of the first car.
+     * @param cars        - the number of cars.
+     * @param duration    - the time taken to generate and load the dataset.
+     */
+    public record LoadedDataset(long firstUserId, int users, long firstCarId, int cars, Duration duration) {
+    }
+
+    @FunctionalInterface
+    private interface RowsWriter {
+        void write(CopyRow row);
+    }
+
+    /**
+     * CopyRow writes the rows of a COPY in text format: the values are separated by tabs, null is \N,
+     * and the backslashes, tabs and line breaks of the values are escaped.
+     */
+    private static final class CopyRow {
+        private final Writer writer;
+        private boolean first = true;
+
+        private CopyRow(Writer writer) {
+            this.writer = writer;
+        }
+
+        private CopyRow value(String value) {
+            try {
+                separate();
+                if (value == null) {
+                    writer.write("\\N");
+                    return this;
+                }
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    switch (c) {
+                        case '\\' -> writer.write("\\\\");
+                        case '\t' -> writer.write("\\t");
+                        case '\n' -> writer.write("\\n");
+                        case '\r' -> writer.write("\\r");
+                        default -> writer.write(c);
+                    }
+                }
+                return this;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private CopyRow value(long value) {
+            return raw(Long.toString(value));
+        }
+
+        private CopyRow value(Integer value) {
+            return value == null ? value((String) null) : raw(value.toString());
+        }
+
+        private CopyRow value(boolean value) {
+            return raw(value ? "t" : "f");
+        }
+
+        private CopyRow value(LocalDateTime value) {
+            // The ISO format (e.g., 2024-10-17T10:15:30) is read as a timestamp by PostgreSQL.
+            return value == null ? value((String) null) : raw(value.toString());
+        }
+
+        private CopyRow raw(String value) {
+            try {
+                separate();
+                writer.write(value);
+                return this;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void end() {
+            try {
+                writer.write('\n');
+                first = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void separate() throws IOException {
+            if (!first) {
+                writer.write('\t');
+            }
+            first = false;
+        }
+    }
+}
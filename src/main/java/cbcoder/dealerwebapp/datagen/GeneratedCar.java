@@ -0,0 +1,62 @@
+package cbcoder.dealerwebapp.datagen;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * GeneratedCar is a car of a synthetic dataset, see DealershipDataGenerator.
+ * The names are already normalized as the setters of Car normalize them.
+ *
+ * @param carId                 the id of the car.
+ * @param make                  the make of the car.
+ * @param model                 the model of the car.
+ * @param color                 the color of the car.
+ * @param regNumber             the reg number of the car, unique by car id.
+ * @param chassisNumber         the chassis number (VIN) of the car, unique by car id.
+ * @param keyNumber             the key number of the car.
+ * @param dateCreated           the date the car was taken in stock.
+ * @param dateUpdated           the date the car was sold, null for a stock car.
+ * @param handoverDate          the handover date of a sold car, null for a stock car.
+ * @param buyerName             the buyer of a sold car, null for a stock car.
+ * @param comments              the comments of the car, or null.
+ * @param carStatus             the status of the car.
+ * @param workshopServiceStatus the pending workshop services of the car.
+ * @param valeterStatus         the pending valeting of the car.
+ * @param userId                the user who sold (or took in) the car, or null if there is no seller.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see DealershipDataGenerator
+ * @since 2026-10-17
+ */
+public record GeneratedCar(long carId, String make, String model, String color, String regNumber, String chassisNumber,
+                           int keyNumber, LocalDateTime dateCreated, LocalDateTime dateUpdated,
+                           LocalDateTime handoverDate, String buyerName, String comments, CarStatus carStatus,
+                           Set<WorkshopServiceStatus> workshopServiceStatus, Set<ValeterStatus> valeterStatus,
+                           Long userId) {
+
+    /**
+     * The car as a new entity, without its user.
+     *
+     * @return the car entity.
+     */
+    public Car toEntity() {
+        Car car = new Car(make, model, color, regNumber, chassisNumber, keyNumber, buyerName, comments, dateCreated);
+        car.setCarId(carId);
+        car.setDateUpdated(dateUpdated);
+        car.setHandoverDate(handoverDate);
+        car.setCarStatus(carStatus);
+        car.setWorkshopServiceStatus(workshopServiceStatus);
+        car.setValeterStatus(valeterStatus);
+        return car;
+    }
+}
@@ -0,0 +1,47 @@
+package cbcoder.dealerwebapp.datagen;
+
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * GeneratedUser is a user of a synthetic dataset, see DealershipDataGenerator.
+ *
+ * @param userId    the id of the user.
+ * @param firstName the first name of the user.
+ * @param lastName  the last name of the user.
+ * @param email     the email of the user, unique by user id.
+ * @param enabled   true if the user is enabled.
+ * @param createdAt the creation date of the user.
+ * @param roles     the roles of the user.
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see DealershipDataGenerator
+ * @since 2026-10-17
+ */
+public record GeneratedUser(long userId, String firstName, String lastName, String email, boolean enabled,
+                            LocalDateTime createdAt, Set<RoleEnum> roles) {
+
+    public boolean canSell() {
+        return roles.contains(RoleEnum.ROLE_SALES) || roles.contains(RoleEnum.ROLE_ADMIN);
+    }
+
+    /**
+     * The user as a new entity, without its roles (the roles are entities of the database).
+     *
+     * @param password the password of the user, already encoded.
+     * @return the user entity.
+     */
+    public User toEntity(String password) {
+        User user = new User(firstName, lastName, email, password, enabled);
+        user.setUserId(userId);
+        return user;
+    }
+}
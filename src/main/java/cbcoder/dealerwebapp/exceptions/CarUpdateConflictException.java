@@ -0,0 +1,7 @@
+package cbcoder.dealerwebapp.exceptions;
+
+public class CarUpdateConflictException extends RuntimeException {
+    public CarUpdateConflictException(String message) {
+        super(message);
+    }
+}
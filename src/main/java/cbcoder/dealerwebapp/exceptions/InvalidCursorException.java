@@ -0,0 +1,7 @@
+package cbcoder.dealerwebapp.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
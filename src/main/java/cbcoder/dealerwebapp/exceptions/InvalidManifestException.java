@@ -0,0 +1,7 @@
+package cbcoder.dealerwebapp.exceptions;
+
+public class InvalidManifestException extends RuntimeException {
+    public InvalidManifestException(String message) {
+        super(message);
+    }
+}
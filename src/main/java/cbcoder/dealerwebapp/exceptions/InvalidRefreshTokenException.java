@@ -0,0 +1,7 @@
+package cbcoder.dealerwebapp.exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package cbcoder.dealerwebapp.exceptions.handler;
 
 import cbcoder.dealerwebapp.exceptions.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -35,6 +36,12 @@ import java.util.Map;
  * @see SuperAdminCountException
  * @see CarAlreadyExistsException
  * @see CarNotFoundException
+ * @see InvalidCursorException
+ * @see InvalidManifestException
+ * @see CarUpdateConflictException
+ * @see ObjectOptimisticLockingFailureException
+ * @see TooManyRequestsException
+ * @see InvalidRefreshTokenException
  * @since 2024-06-15
  */
 @RestControllerAdvice
@@ -259,4 +266,101 @@ public class ExceptionsHandler {
         errors.put(MESSAGE, ex.getMessage());
         return errors;
     }
+
+    /**
+     * Handle the InvalidCursorException exception and return a message to the client.
+     * The message is the exception message.
+     * The HTTP status code is 400 (BAD REQUEST).
+     *
+     * @param ex InvalidCursorException exception.
+     * @return a map with the message of the exception.
+     */
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public Map<String, String> handleInvalidCursorException(InvalidCursorException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(MESSAGE, ex.getMessage());
+        return errors;
+    }
+
+    /**
+     * Handle the InvalidManifestException exception and return a message to the client.
+     * The message is the exception message.
+     * The HTTP status code is 400 (BAD REQUEST).
+     *
+     * @param ex InvalidManifestException exception.
+     * @return a map with the message of the exception.
+     */
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidManifestException.class)
+    public Map<String, String> handleInvalidManifestException(InvalidManifestException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(MESSAGE, ex.getMessage());
+        return errors;
+    }
+
+    /**
+     * Handle the CarUpdateConflictException exception and return a message to the client.
+     * The message is the exception message.
+     * The HTTP status code is 409 (CONFLICT).
+     *
+     * @param ex CarUpdateConflictException exception.
+     * @return a map with the message of the exception.
+     */
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(CarUpdateConflictException.class)
+    public Map<String, String> handleCarUpdateConflictException(CarUpdateConflictException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(MESSAGE, ex.getMessage());
+        return errors;
+    }
+
+    /**
+     * Handle the ObjectOptimisticLockingFailureException exception and return a message to the client.
+     * The exception is thrown when an entity was changed by another request since it was read.
+     * The message is generic, the exception message holds the internal details of the entity.
+     * The HTTP status code is 409 (CONFLICT).
+     *
+     * @param ex ObjectOptimisticLockingFailureException exception.
+     * @return a map with the message of the exception.
+     */
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public Map<String, String> handleObjectOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(MESSAGE, "The resource was changed by another request, reload it and try again");
+        return errors;
+    }
+
+    /**
+     * Handle the TooManyRequestsException exception and return a message to the client.
+     * The message is the exception message.
+     * The HTTP status code is 429 (TOO MANY REQUESTS).
+     *
+     * @param ex TooManyRequestsException exception.
+     * @return a map with the message of the exception.
+     */
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public Map<String, String> handleTooManyRequestsException(TooManyRequestsException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(MESSAGE, ex.getMessage());
+        return errors;
+    }
+
+    /**
+     * Handle the InvalidRefreshTokenException exception and return a message to the client.
+     * The message is the exception message.
+     * The HTTP status code is 401 (UNAUTHORIZED).
+     *
+     * @param ex InvalidRefreshTokenException exception.
+     * @return a map with the message of the exception.
+     */
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public Map<String, String> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(MESSAGE, ex.getMessage());
+        return errors;
+    }
 }
@@ -0,0 +1,53 @@
+package cbcoder.dealerwebapp.globalConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CacheLoaders holds the executor of the in-process caches which load their values from the database
+ * (principals, token versions and car details).
+ * A synchronous Caffeine cache loads a missing value inside ConcurrentHashMap.compute, which holds a monitor:
+ * a virtual thread blocked on JDBC there pins its carrier thread. The caches are asynchronous instead,
+ * the compute only stores the future of the load, and the load runs on its own virtual thread.
+ * A load in progress is still shared by the concurrent readers of the same key, and an invalidation drops it.
+ * The statements of a load are counted in the JDBC metrics of the request which started it
+ * (see JdbcStatementCountingDataSource.propagate).
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class CacheLoaders {
+
+    private static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    public static final Executor EXECUTOR =
+            task -> VIRTUAL_THREADS.execute(JdbcStatementCountingDataSource.propagate(task));
+
+    private CacheLoaders() {
+    }
+
+    /**
+     * Wait for a cache load, throwing the exception of the loader as is (e.g., a not found exception).
+     *
+     * @param future the future of the cached value.
+     * @return the cached value.
+     */
+    public static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package cbcoder.dealerwebapp.globalConfig;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * CsvMapperConfig class provides the configuration for the CsvMapper bean.
+ * The CsvMapper reads and writes the car manifests and exports as CSV, with the same Java time support as the JSON mapper.
+ * The empty cells are read as null values, and the unknown columns are ignored.
+ * The dates are written as ISO-8601 text, as in the JSON responses.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see CsvMapper
+ * @see Configuration
+ * @since 2026-10-17
+ */
+@Configuration
+public class CsvMapperConfig {
+    @Bean
+    public CsvMapper csvMapper() {
+        return CsvMapper.builder()
+                .findAndAddModules()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package cbcoder.dealerwebapp.globalConfig;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * JdbcStatementCountingDataSource wraps the DataSource of the application to count the JDBC statements executed,
+ * and the rows fetched from their result sets, by the current thread.
+ * The counting is started and stopped by the JdbcStatementMetricsFilter around every request, so the counts are
+ * the statements and rows of a request, and nothing is counted outside a request. A batch is counted as one statement.
+ * The tasks run by other threads for the request (the cache loads of the CacheLoaders, and the asynchronous requests
+ * like a streamed export) are wrapped with propagate, so they count in the counts of the request which submitted them.
+ * A cache load shared by concurrent requests is counted once, by the request which started it.
+ * The connections, statements and result sets are JDK proxies of the pooled objects; unwrap is delegated to them,
+ * so the driver classes (e.g., PGConnection) can still be reached.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see JdbcStatementMetricsFilter
+ * @see DelegatingDataSource
+ * @since 2026-10-17
+ */
+public class JdbcStatementCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<Counts> COUNTS = new ThreadLocal<>();
+
+    public JdbcStatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Start counting the statements and rows of the current thread.
+     *
+     * @return the counts, updated until stop is called.
+     */
+    public static Counts start() {
+        Counts counts = new Counts();
+        COUNTS.set(counts);
+        return counts;
+    }
+
+    public static void stop() {
+        COUNTS.remove();
+    }
+
+    /**
+     * Wrap a task, so the statements and rows of the task are counted in the counts of the current thread
+     * (e.g., of the request which submits the task to another thread).
+     *
+     * @param task the task.
+     * @return the wrapped task, or the task if the current thread is not counting.
+     */
+    public static Runnable propagate(Runnable task) {
+        Counts counts = COUNTS.get();
+        if (counts == null) {
+            return task;
+        }
+        return () -> {
+            Counts previous = COUNTS.get();
+            COUNTS.set(counts);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    COUNTS.remove();
+                } else {
+                    COUNTS.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    /**
+     * This private method wraps a JDBC object, counting the statements and rows of the objects it returns.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(JdbcStatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new CountingHandler(target));
+    }
+
+    private record CountingHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("unwrap") && ((Class<?>) args[0]).isInstance(target)) {
+                return target;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Counts counts = COUNTS.get();
+            if (target instanceof ResultSet) {
+                if (counts != null && name.equals("next") && Boolean.TRUE.equals(result)) {
+                    counts.rows.increment();
+                }
+                return result;
+            }
+            if (counts != null && target instanceof Statement && name.startsWith("execute")) {
+                counts.statements.increment();
+            }
+            return switch (result) {
+                case CallableStatement statement -> proxy(CallableStatement.class, statement);
+                case PreparedStatement statement -> proxy(PreparedStatement.class, statement);
+                case Statement statement -> proxy(Statement.class, statement);
+                case ResultSet resultSet when !name.equals("getGeneratedKeys") -> proxy(ResultSet.class, resultSet);
+                case null, default -> result;
+            };
+        }
+    }
+
+    /**
+     * The statements executed and rows fetched by a request since it started counting,
+     * by the thread of the request and the tasks it submitted to other threads.
+     */
+    public static final class Counts {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+
+        public long statements() {
+            return statements.sum();
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+    }
+}
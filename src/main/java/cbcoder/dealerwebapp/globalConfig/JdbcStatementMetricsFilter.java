@@ -0,0 +1,104 @@
+package cbcoder.dealerwebapp.globalConfig;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * JdbcStatementMetricsFilter counts the JDBC statements executed and the rows fetched by every request
+ * (see JdbcStatementCountingDataSource), and records them as the "http.server.requests.jdbc.statements"
+ * and "http.server.requests.jdbc.rows" distribution summaries, tagged by the method and the endpoint (the URI pattern
+ * of the handler, as in the "http.server.requests" timer). The summaries publish histograms, so an alert on the
+ * statements per request of an endpoint catches an N+1 query regression.
+ * The filter is the first filter, so the statements of the authentication (JwtAuthFilter) are counted.
+ * An asynchronous request (e.g., a car export) is recorded when it completes, with the statements of its async task,
+ * not when its first dispatch returns.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see JdbcStatementCountingDataSource
+ * @since 2026-10-17
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JdbcStatementMetricsFilter extends OncePerRequestFilter {
+
+    // The requests without a handler (e.g., not found, or rejected by the security filters).
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    public JdbcStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        JdbcStatementCountingDataSource.Counts counts = JdbcStatementCountingDataSource.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            JdbcStatementCountingDataSource.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+            String method = request.getMethod();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(method, uri, counts);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(method, uri, counts);
+            }
+        }
+    }
+
+    /**
+     * This private method records the statements and rows of a request, once it is completed.
+     */
+    private void record(String method, String uri, JdbcStatementCountingDataSource.Counts counts) {
+        summary("http.server.requests.jdbc.statements", method, uri).record(counts.statements());
+        summary("http.server.requests.jdbc.rows", method, uri).record(counts.rows());
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
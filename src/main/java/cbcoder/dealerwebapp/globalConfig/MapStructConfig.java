@@ -0,0 +1,30 @@
+package cbcoder.dealerwebapp.globalConfig;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * MapStructConfig is the shared configuration of the MapStruct mappers.
+ * The mapper implementations are generated at compile time, so there is no reflection or type map lookup when mapping.
+ * The mappers are Spring beans, the null source values are skipped (they never overwrite a target value),
+ * and an unmapped target property fails the build, so a new field cannot be silently left out of a DTO.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see cbcoder.dealerwebapp.Cars.mappers.CarMapper
+ * @see cbcoder.dealerwebapp.UsersInfo.mappers.UserMapper
+ * @since 2026-10-17
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS,
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MapStructConfig {
+}
@@ -0,0 +1,57 @@
+package cbcoder.dealerwebapp.globalConfig;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+/**
+ * <p>Copyright (c) 2024, Cleber Balbinote.</p>
+ * <p>All rights reserved.</p>
+ * <p>Licensed under the MIT License.</p>
+ * <p>For full license text, please see the LICENSE file in the repo root or <a href="https://opensource.org/licenses/MI">...</a>T</p>
+ * </br>
+ * MetricsConfig class provides the configuration of the application metrics, published on the Prometheus
+ * actuator endpoint ("/actuator/prometheus").
+ * The TimedAspect records the methods of the classes annotated with @Timed (the services) as timers,
+ * tagged by class and method. The DataSource is wrapped to count the JDBC statements and rows of every request,
+ * and the TaskDecorator of the application task executor (which runs the asynchronous requests, e.g. the car exports)
+ * counts the statements of a task in the request which submitted it.
+ *
+ * @author Cleber Balbinote
+ * @version 1.0
+ * @see TimedAspect
+ * @see JdbcStatementCountingDataSource
+ * @see Configuration
+ * @since 2026-10-17
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public TaskDecorator jdbcStatementCountingTaskDecorator() {
+        return JdbcStatementCountingDataSource::propagate;
+    }
+
+    @Bean
+    public static BeanPostProcessor jdbcStatementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof JdbcStatementCountingDataSource)) {
+                    return new JdbcStatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@ package cbcoder.dealerwebapp.globalConfig;
 
 import cbcoder.dealerwebapp.UsersInfo.security.config.JwtAuthFilter;
 import cbcoder.dealerwebapp.UsersInfo.services.UserSecurityService;
+import jakarta.servlet.DispatcherType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -61,6 +62,9 @@ public class SecurityConfig {
      * The endpoints '/users/**' will be accessible by users with the roles 'SUPERADMIN', 'ADMIN', 'SALES', 'WORKSHOP' and 'VALETER'.
      * The endpoints '/superadmin/**' will be accessible only by users with the role 'SUPERADMIN'.
      * The endpoints '/swagger-ui/**' and '/v3/api-docs/**' will be accessible by anyone.
+     * The endpoint '/actuator/prometheus' will be accessible by anyone, to be scraped by Prometheus.
+     * The ASYNC and ERROR dispatches are permitted: the request was authorized on its first dispatch, and the JwtAuthFilter
+     * does not run again on them (e.g., when the car events stream or a car export completes on another thread).
      * The other endpoints will be accessible only by authenticated users.
      *
      * @param http the HttpSecurity object to be configured.
@@ -75,12 +79,16 @@ public class SecurityConfig {
                 .cors(AbstractHttpConfigurer::disable) // Disabled CORS (Cross-Origin Resource Sharing).
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                                 .requestMatchers("/auth/**").permitAll()
                                 .requestMatchers("/admin/**").hasAnyRole("ADMIN", "SUPERADMIN")
                                 .requestMatchers("/users/**").hasAnyRole("SUPERADMIN", "ADMIN", "SALES", "WORKSHOP", "VALETER")
                                 .requestMatchers("/superadmin/**").hasRole("SUPERADMIN")
                                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                                .requestMatchers("/actuator/prometheus").permitAll()
                                 .requestMatchers("/cars/create/**").hasAnyRole("ADMIN", "SALES")
+                                .requestMatchers("/cars/bulk/**").hasAnyRole("ADMIN", "SALES")
+                                .requestMatchers("/cars/export/**").hasAnyRole("ADMIN", "SALES")
                                 .requestMatchers("/cars/delete/**").hasAnyRole("ADMIN", "SALES")
                                 .requestMatchers("/cars/**").hasAnyRole("ADMIN", "SALES", "WORKSHOP", "VALETER")
                                 .anyRequest()
@@ -15,3 +15,66 @@ INSERT INTO users_roles(user_user_id, roles_role_id)
 VALUES (1, 1)
 ON CONFLICT DO NOTHING;
 
+
+-- Trigram indexes for the "containing" searches on reg number, chassis number and buyer name.
+-- The derived queries compare upper(column) with LIKE '%term%', so the indexes are built on the same expressions.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS cars_reg_number_trgm_idx ON cars USING gin (upper(reg_number) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS cars_chassis_number_trgm_idx ON cars USING gin (upper(chassis_number) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS cars_buyer_name_trgm_idx ON cars USING gin (upper(buyer_name) gin_trgm_ops);
+
+-- Keyset pagination indexes: the listings seek on (sort key, car_id), optionally filtered by the car status.
+CREATE INDEX IF NOT EXISTS cars_date_created_car_id_idx ON cars (date_created, car_id);
+
+CREATE INDEX IF NOT EXISTS cars_car_status_car_id_idx ON cars (car_status, car_id);
+
+CREATE INDEX IF NOT EXISTS cars_car_status_date_created_car_id_idx ON cars (car_status, date_created, car_id);
+
+-- Token version of the stateless access tokens. The existing users start at version 0.
+UPDATE users SET token_version = 0 WHERE token_version IS NULL;
+
+-- Optimistic lock of the cars. The existing cars start at version 0.
+UPDATE cars SET version = 0 WHERE version IS NULL;
+
+-- Bitmask storage of the status sets: the bit n is set for the enum constant of ordinal n (see EnumSetBitmaskConverter).
+-- The cars saved before the bitmask columns are migrated from the status collection tables, the arrays below
+-- list the constants of WorkshopServiceStatus and ValeterStatus in their declaration order.
+UPDATE cars c
+SET workshop_service_status_mask = COALESCE((SELECT bit_or(1 << (array_position(ARRAY ['SERVICE', 'REPAIR', 'MOT'],
+                                                                                s.workshop_service_status) - 1))
+                                             FROM workshop_service_status s
+                                             WHERE s.car_car_id = c.car_id), 0)
+WHERE c.workshop_service_status_mask IS NULL;
+
+UPDATE cars c
+SET valeter_status_mask = COALESCE((SELECT bit_or(1 << (array_position(ARRAY ['VALET', 'FULL_VALET', 'POLISH', 'SAFEGARD',
+                                                                       'MATS', 'BOOT_LINER', 'SAFETY_KIT'],
+                                                                       s.valeter_status) - 1))
+                                    FROM valeter_status s
+                                    WHERE s.car_car_id = c.car_id), 0)
+WHERE c.valeter_status_mask IS NULL;
+
+-- Valeting and workshop boards: only the stock cars with pending work are indexed, in car_id order,
+-- and the bit test of the board queries is applied to those rows only.
+CREATE INDEX IF NOT EXISTS cars_stock_workshop_service_status_mask_idx ON cars (car_id, workshop_service_status_mask)
+    WHERE car_status = 'STOCK' AND workshop_service_status_mask <> 0;
+
+CREATE INDEX IF NOT EXISTS cars_stock_valeter_status_mask_idx ON cars (car_id, valeter_status_mask)
+    WHERE car_status = 'STOCK' AND valeter_status_mask <> 0;
+
+-- Pooled id allocation: the entities reserve 50 ids per sequence call (allocationSize = 50).
+-- The sequences are moved past the ids already used, so the pooled ranges never overlap existing rows.
+ALTER SEQUENCE IF EXISTS cars_seq INCREMENT BY 50;
+
+SELECT setval('cars_seq', GREATEST((SELECT COALESCE(MAX(car_id), 1) FROM cars), (SELECT last_value FROM cars_seq)));
+
+ALTER SEQUENCE IF EXISTS users_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(user_id), 1) FROM users), (SELECT last_value FROM users_seq)));
+
+ALTER SEQUENCE IF EXISTS roles_seq INCREMENT BY 50;
+
+SELECT setval('roles_seq', GREATEST((SELECT COALESCE(MAX(role_id), 1) FROM roles), (SELECT last_value FROM roles_seq)));
@@ -0,0 +1,164 @@
+package cbcoder.dealerwebapp.Cars.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the car endpoints accept the users with the allowed roles (the granted authorities are the role names
+ * with the "ROLE_" prefix), and reject the other roles.
+ * The requests do not change any car: the manifest has no valid row and the export matches no model.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CarControllerSecurityTest {
+
+    private static final String NO_MODEL = "no-such-model-" + System.nanoTime();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "SALES")
+    void allCarsIsAllowedToSales() throws Exception {
+        mockMvc.perform(get("/cars/all-cars").param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "SALES")
+    void bulkIsAllowedToSales() throws Exception {
+        MockMultipartFile manifest = new MockMultipartFile("file", "manifest.csv", "text/csv",
+                "make,model,color,regNumber,chassisNumber,keyNumber\nFord,,Red,,,1".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/cars/bulk").file(manifest))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "VALETER")
+    void bulkIsForbiddenToValeters() throws Exception {
+        MockMultipartFile manifest = new MockMultipartFile("file", "manifest.csv", "text/csv",
+                "make,model,color,regNumber,chassisNumber,keyNumber".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/cars/bulk").file(manifest))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "SALES")
+    void exportIsAllowedToSales() throws Exception {
+        mockMvc.perform(get("/cars/export").param("model", NO_MODEL))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(roles = "WORKSHOP")
+    void exportIsForbiddenToTheWorkshop() throws Exception {
+        mockMvc.perform(get("/cars/export").param("model", NO_MODEL))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "VALETER")
+    void eventsAreAllowedToValeters() throws Exception {
+        mockMvc.perform(get("/cars/events"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(roles = "WORKSHOP")
+    void allCarsScrollIsAllowedToTheWorkshop() throws Exception {
+        mockMvc.perform(get("/cars/all-cars/scroll").param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "WORKSHOP")
+    void allStockCarsScrollIsAllowedToTheWorkshop() throws Exception {
+        mockMvc.perform(get("/cars/all-stock-cars/scroll").param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "WORKSHOP")
+    void allSoldCarsScrollIsAllowedToTheWorkshop() throws Exception {
+        mockMvc.perform(get("/cars/all-sold-cars/scroll").param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "WORKSHOP")
+    void carByModelScrollIsAllowedToTheWorkshop() throws Exception {
+        mockMvc.perform(get("/cars/car-by-model/{model}/scroll", NO_MODEL).param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "VALETER")
+    void valetingBoardIsAllowedToValeters() throws Exception {
+        mockMvc.perform(get("/cars/valeting-board").param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "WORKSHOP")
+    void workshopBoardIsAllowedToTheWorkshop() throws Exception {
+        mockMvc.perform(get("/cars/workshop-board").param("pageSize", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "SALES")
+    void statsAreAllowedToSales() throws Exception {
+        mockMvc.perform(get("/cars/stats"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "VALETER")
+    void statsAreForbiddenToValeters() throws Exception {
+        mockMvc.perform(get("/cars/stats"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void statsCheckIsAllowedToAdmins() throws Exception {
+        mockMvc.perform(get("/cars/stats/check"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "SALES")
+    void statsCheckIsForbiddenToSales() throws Exception {
+        mockMvc.perform(get("/cars/stats/check"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void statsRebuildIsAllowedToAdmins() throws Exception {
+        mockMvc.perform(post("/cars/stats/rebuild"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "SALES")
+    void statsRebuildIsForbiddenToSales() throws Exception {
+        mockMvc.perform(post("/cars/stats/rebuild"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,98 @@
+package cbcoder.dealerwebapp.Cars.search;
+
+import cbcoder.dealerwebapp.Cars.enums.CarSearchField;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Asserts the searches of the CarSearchIndex, on the posting lists of the trigrams and on the terms shorter
+ * than a trigram, and that a car deleted while the index is being built is not added back by the build.
+ */
+class CarSearchIndexTest {
+
+    private final CarRepository carRepository = mock(CarRepository.class);
+    private final CarSearchIndex carSearchIndex = new CarSearchIndex(carRepository, true);
+
+    @Test
+    void searchFindsTheCarsContainingTheTerm() {
+        build(Stream.of(entry(1L, "AB12CDE", "WVWZZZ00000000001", "Arthur King"),
+                entry(2L, "XY34ABC", "WVWZZZ00000000002", "Mary Jones"),
+                entry(3L, "AB99XYZ", "VF1ZZZ00000000003", null)));
+
+        assertEquals(Optional.of(List.of(1L, 2L, 3L)), carSearchIndex.search(CarSearchField.REG_NUMBER, "ab"));
+        assertEquals(Optional.of(List.of(3L)), carSearchIndex.search(CarSearchField.REG_NUMBER, "9x"));
+        assertEquals(Optional.of(List.of(2L)), carSearchIndex.search(CarSearchField.REG_NUMBER, "4ab"));
+        assertEquals(Optional.of(List.of(1L, 2L)), carSearchIndex.search(CarSearchField.CHASSIS_NUMBER, "WVWZZZ"));
+        assertEquals(Optional.of(List.of(1L)), carSearchIndex.search(CarSearchField.BUYER_NAME, "king"));
+        assertEquals(Optional.of(List.of()), carSearchIndex.search(CarSearchField.BUYER_NAME, "queen"));
+    }
+
+    @Test
+    void carDeletedDuringTheBuildIsNotAddedBack() {
+        Stream<CarSearchEntry> entries = Stream.of(entry(1L, "AB12CDE", "WVWZZZ00000000001", "Arthur King"),
+                        entry(2L, "AB34CDE", "WVWZZZ00000000002", "Mary Jones"))
+                // The car 2 is deleted (and committed) after the build started and before the car 2 is streamed.
+                .peek(entry -> {
+                    if (entry.getCarId() == 1L) {
+                        carSearchIndex.remove(2L);
+                    }
+                });
+
+        build(entries);
+
+        assertEquals(Optional.of(List.of(1L)), carSearchIndex.search(CarSearchField.REG_NUMBER, "CDE"));
+        assertEquals(Optional.of(List.of()), carSearchIndex.search(CarSearchField.BUYER_NAME, "Mary"));
+    }
+
+    @Test
+    void updatedCarIsFoundByItsNewValue() {
+        build(Stream.of(entry(1L, "AB12CDE", "WVWZZZ00000000001", null)));
+        Car car = new Car("Volkswagen", "Golf", "Blue", "ZZ99ZZZ", "WVWZZZ00000000001", 1, null, null,
+                LocalDateTime.now());
+        car.setCarId(1L);
+
+        carSearchIndex.index(car);
+
+        assertEquals(Optional.of(List.of()), carSearchIndex.search(CarSearchField.REG_NUMBER, "AB1"));
+        assertEquals(Optional.of(List.of(1L)), carSearchIndex.search(CarSearchField.REG_NUMBER, "Z9"));
+    }
+
+    private void build(Stream<CarSearchEntry> entries) {
+        when(carRepository.streamAllSearchEntries()).thenReturn(entries);
+        carSearchIndex.build();
+    }
+
+    private static CarSearchEntry entry(Long carId, String regNumber, String chassisNumber, String buyerName) {
+        return new CarSearchEntry() {
+            @Override
+            public Long getCarId() {
+                return carId;
+            }
+
+            @Override
+            public String getRegNumber() {
+                return regNumber;
+            }
+
+            @Override
+            public String getChassisNumber() {
+                return chassisNumber;
+            }
+
+            @Override
+            public String getBuyerName() {
+                return buyerName;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package cbcoder.dealerwebapp.Cars.services.impl;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarIntakeReport;
+import cbcoder.dealerwebapp.Cars.Dtos.CarIntakeRowResult;
+import cbcoder.dealerwebapp.Cars.enums.CarIntakeStatus;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.services.CarIntakeService;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the reg numbers and chassis numbers of a manifest are compared in upper case, as the cars store them:
+ * a car repeated or already existing with a different case is one DUPLICATE row, not a FAILED chunk.
+ * A manifest re-uploaded from a car export, with the carId and date columns, creates new cars with new ids.
+ */
+@SpringBootTest
+@Transactional
+class CarIntakeServiceImplTest {
+
+    @Autowired
+    private CarIntakeService carIntakeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String suffix;
+    private Car existingCar;
+
+    @BeforeEach
+    void setUp() {
+        suffix = Long.toString(System.nanoTime(), 36).toUpperCase();
+        User user = new User("Car", "Intake", "car.intake." + suffix.toLowerCase() + "@email.com", "password", true);
+        entityManager.persist(user);
+        existingCar = new Car("Volkswagen", "Golf", "Blue", "EX" + suffix, "EXCH" + suffix, 1, null, null,
+                LocalDateTime.now());
+        existingCar.setCarStatus(CarStatus.STOCK);
+        existingCar.getUsers().add(user);
+        entityManager.persist(existingCar);
+        entityManager.flush();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void numbersDifferingOnlyInCaseAreDuplicates() {
+        String lower = suffix.toLowerCase();
+        CarIntakeReport report = carIntakeService.intake(manifest(
+                "make,model,color,regNumber,chassisNumber,keyNumber",
+                "Ford,Focus,Red,ex" + lower + ",NEWCH1" + suffix + ",2",
+                "Ford,Focus,Red,NEW1" + suffix + ",NEWCH2" + suffix + ",3",
+                "Ford,Focus,Red,new1" + lower + ",NEWCH3" + suffix + ",4",
+                "Ford,Focus,Red,NEW2" + suffix + ",newch2" + lower + ",5"));
+
+        assertEquals(4, report.total());
+        assertEquals(1, report.created());
+        assertEquals(List.of(CarIntakeStatus.DUPLICATE, CarIntakeStatus.CREATED, CarIntakeStatus.DUPLICATE,
+                CarIntakeStatus.DUPLICATE), report.rows().stream().map(CarIntakeRowResult::status).toList());
+        assertEquals("NEW1" + suffix, report.rows().get(1).regNumber());
+    }
+
+    @Test
+    void carIdAndDatesOfTheManifestAreIgnored() {
+        CarIntakeReport report = carIntakeService.intake(manifest(
+                "carId,dateCreated,make,model,color,regNumber,chassisNumber,keyNumber",
+                existingCar.getCarId() + ",2024-01-01T10:00:00,Volkswagen,Golf,Blue,EX" + suffix + ",EXCH" + suffix + ",1",
+                existingCar.getCarId() + ",2024-01-01T10:00:00,Ford,Focus,Red,NEW3" + suffix + ",NEWCH4" + suffix + ",2"));
+
+        assertEquals(2, report.total());
+        assertEquals(1, report.created());
+        assertEquals(List.of(CarIntakeStatus.DUPLICATE, CarIntakeStatus.CREATED),
+                report.rows().stream().map(CarIntakeRowResult::status).toList());
+        Long createdCarId = report.rows().get(1).carId();
+        assertNotNull(createdCarId);
+        assertNotEquals(existingCar.getCarId(), createdCarId);
+        Car createdCar = entityManager.find(Car.class, createdCarId);
+        assertEquals("NEW3" + suffix, createdCar.getRegNumber());
+        assertTrue(createdCar.getDateCreated().isAfter(LocalDateTime.of(2024, 1, 1, 10, 0)));
+    }
+
+    private static MockMultipartFile manifest(String... lines) {
+        return new MockMultipartFile("manifest", "manifest.csv", "text/csv",
+                String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package cbcoder.dealerwebapp.Cars.services.impl;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.repositories.CarRepository;
+import cbcoder.dealerwebapp.Cars.services.CarService;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.repositories.UserRepository;
+import cbcoder.dealerwebapp.exceptions.CarUpdateConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers the update to sold of one car from many threads, and asserts the car is sold once:
+ * a single call updates the car (and bumps its version once), the others fail with a conflict.
+ * The car is created and deleted through the CarService, so the test leaves the stock summary as it found it.
+ */
+@SpringBootTest
+class CarServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Long carId;
+    private Long initialVersion;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = Long.toString(System.nanoTime(), 36).toUpperCase();
+        user = userRepository.save(new User("Optimistic", "Lock", "optimistic.lock." + suffix + "@email.com",
+                "password", true));
+        CarDto carDto = new CarDto();
+        carDto.setMake("Volkswagen");
+        carDto.setModel("Golf");
+        carDto.setColor("Blue");
+        carDto.setRegNumber("OL" + suffix);
+        carDto.setChassisNumber("OLCH" + suffix);
+        carDto.setKeyNumber(1);
+        carDto.setCarStatus(CarStatus.STOCK);
+        CarDto savedCar = asUser(() -> carService.createCar(carDto));
+        carId = savedCar.getCarId();
+        initialVersion = savedCar.getVersion();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        asUser(() -> {
+            carService.deleteCar(carId);
+            return null;
+        });
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    void updatesWithoutVersionSellTheCarOnce() throws Exception {
+        List<Boolean> results = hammer(buyer -> sale(buyer, null));
+
+        // The losers are retried on the sold car, and rejected instead of selling it again.
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count());
+        Car car = carRepository.findById(carId).orElseThrow();
+        assertEquals(initialVersion + 1, car.getVersion());
+        assertEquals(CarStatus.SOLD, car.getCarStatus());
+    }
+
+    @Test
+    void updatesWithTheSameVersionHaveASingleWinner() throws Exception {
+        List<Boolean> results = hammer(buyer -> sale(buyer, initialVersion));
+
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count());
+        Car car = carRepository.findById(carId).orElseThrow();
+        assertEquals(initialVersion + 1, car.getVersion());
+    }
+
+    /**
+     * Run the update to sold of the car from all the threads at once.
+     *
+     * @return for each thread, true if the car was updated, false if the update was rejected with a conflict.
+     */
+    private List<Boolean> hammer(IntFunction<CarDto> sales) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger buyers = new AtomicInteger();
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> asUser(() -> {
+                    try {
+                        start.await();
+                        carService.updateCarToSold(carId, sales.apply(buyers.incrementAndGet()));
+                        return true;
+                    } catch (CarUpdateConflictException e) {
+                        return false;
+                    }
+                })));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>(THREADS);
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run the task authenticated as the user of the test, on the current thread.
+     */
+    private <T> T asUser(Callable<T> task) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        try {
+            return task.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+        private CarDto sale(int buyer, Long version) {
+        CarDto carDto = new CarDto();
+        carDto.setBuyerName("Buyer " + buyer);
+        carDto.setHandoverDate(LocalDateTime.now().plusDays(7));
+        carDto.setWorkshopServiceStatus(new HashSet<>());
+        carDto.setValeterStatus(new HashSet<>());
+        carDto.setVersion(version);
+        return carDto;
+    }
+}
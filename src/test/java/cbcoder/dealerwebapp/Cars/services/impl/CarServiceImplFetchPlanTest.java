@@ -0,0 +1,121 @@
+package cbcoder.dealerwebapp.Cars.services.impl;
+
+import cbcoder.dealerwebapp.Cars.Dtos.CarCursor;
+import cbcoder.dealerwebapp.Cars.Dtos.CarDto;
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import cbcoder.dealerwebapp.Cars.enums.ValeterStatus;
+import cbcoder.dealerwebapp.Cars.enums.WorkshopServiceStatus;
+import cbcoder.dealerwebapp.Cars.model.Car;
+import cbcoder.dealerwebapp.Cars.services.CarService;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the number of SQL statements of a car listing page is bounded,
+ * whatever the number of cars in the page (no N+1 on the users and status collections).
+ * The keyset (scroll) slices read the list views, without a count query.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CarServiceImplFetchPlanTest {
+
+    private static final int PAGE_SIZE = 50;
+    // Page + count + users + roles of the users + workshop service status + valeter status.
+    private static final long MAX_STATEMENTS_PER_PAGE = 6;
+    // List views + workshop service status + valeter status.
+    private static final long MAX_STATEMENTS_PER_SLICE = 3;
+    private static final String MODEL = "Fetchplan";
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("Fetch", "Plan", "fetch.plan." + System.nanoTime() + "@email.com", "password", true);
+        entityManager.persist(user);
+        String suffix = Long.toString(System.nanoTime(), 36).toUpperCase();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Car car = new Car("Volkswagen", MODEL, "Blue", "FP" + i + suffix, "FPCH" + i + suffix, i, null, null,
+                    LocalDateTime.now());
+            car.setCarStatus(CarStatus.STOCK);
+            car.setWorkshopServiceStatus(EnumSet.of(WorkshopServiceStatus.SERVICE, WorkshopServiceStatus.MOT));
+            car.setValeterStatus(EnumSet.of(ValeterStatus.values()[0]));
+            car.getUsers().add(user);
+            entityManager.persist(car);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getCarByModelLoadsAPageWithABoundedNumberOfStatements() {
+        Page<CarDto> cars = carService.getCarByModel(PageRequest.of(0, PAGE_SIZE), MODEL);
+
+        assertEquals(PAGE_SIZE, cars.getNumberOfElements());
+        cars.forEach(car -> {
+            assertNotNull(car.getUserId());
+            assertEquals(2, car.getWorkshopServiceStatus().size());
+            assertEquals(1, car.getValeterStatus().size());
+        });
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                "Expected at most " + MAX_STATEMENTS_PER_PAGE + " statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllCarsLoadsAPageWithABoundedNumberOfStatements() {
+        Page<CarDto> cars = carService.getAllCars(PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, cars.getNumberOfElements());
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                "Expected at most " + MAX_STATEMENTS_PER_PAGE + " statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getCarByModelAfterLoadsTheSlicesWithABoundedNumberOfStatements() {
+        Slice<CarDto> first = carService.getCarByModelAfter(MODEL, null, PAGE_SIZE / 2, CarCursor.SORT_BY_DATE_CREATED);
+        String after = CarCursor.after(first.getContent().getLast(), CarCursor.SORT_BY_DATE_CREATED).encode();
+        Slice<CarDto> second = carService.getCarByModelAfter(MODEL, after, PAGE_SIZE / 2, CarCursor.SORT_BY_DATE_CREATED);
+
+        Set<Long> carIds = new HashSet<>();
+        first.forEach(car -> carIds.add(car.getCarId()));
+        second.forEach(car -> carIds.add(car.getCarId()));
+        assertEquals(PAGE_SIZE, carIds.size());
+        second.forEach(car -> {
+            assertNotNull(car.getUserId());
+            assertEquals(2, car.getWorkshopServiceStatus().size());
+            assertEquals(1, car.getValeterStatus().size());
+        });
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * MAX_STATEMENTS_PER_SLICE,
+                "Expected at most " + 2 * MAX_STATEMENTS_PER_SLICE + " statements but was "
+                        + statistics.getPrepareStatementCount());
+    }
+}
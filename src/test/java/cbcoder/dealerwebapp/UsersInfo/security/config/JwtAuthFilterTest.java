@@ -0,0 +1,97 @@
+package cbcoder.dealerwebapp.UsersInfo.security.config;
+
+import cbcoder.dealerwebapp.UsersInfo.Dtos.JwtAuthResponse;
+import cbcoder.dealerwebapp.UsersInfo.Dtos.RefreshTokenRequest;
+import cbcoder.dealerwebapp.UsersInfo.Dtos.SignInRequest;
+import cbcoder.dealerwebapp.UsersInfo.Dtos.SignUpRequest;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import cbcoder.dealerwebapp.UsersInfo.security.RoleRegistry;
+import cbcoder.dealerwebapp.UsersInfo.services.UserAuthService;
+import cbcoder.dealerwebapp.UsersInfo.services.UserService;
+import cbcoder.dealerwebapp.exceptions.InvalidRefreshTokenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the JwtAuthFilter accepts only the current access tokens of a user, in the stateful mode (the user is loaded):
+ * a refresh token, revoked or not, is never accepted as an access token,
+ * and the access tokens issued before a logout of all the sessions are rejected.
+ * The test is not transactional, the login verifies the password on another thread, so the user is deleted after each test.
+ */
+@SpringBootTest(properties = "dealer-webapp.security.jwt.stateless-authorities=false")
+@AutoConfigureMockMvc
+class JwtAuthFilterTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserAuthService userAuthService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    private User user;
+    private JwtAuthResponse tokens;
+
+    @BeforeEach
+    void setUp() {
+        String email = "jwt.filter." + System.nanoTime() + "@email.com";
+        user = userAuthService.register(new SignUpRequest("Jwt", "Filter", email, PASSWORD,
+                Set.of(roleRegistry.getRole(RoleEnum.ROLE_SALES))));
+        tokens = userAuthService.login(new SignInRequest(email, PASSWORD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.deleteUser(user.getUserId());
+    }
+
+    @Test
+    void revokedRefreshTokenIsNotAcceptedAsAnAccessToken() throws Exception {
+        userAuthService.logout(new RefreshTokenRequest(tokens.refreshToken()));
+
+        mockMvc.perform(post("/users/logout-all").header("Authorization", "Bearer " + tokens.refreshToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsAnAccessToken() throws Exception {
+        mockMvc.perform(post("/users/logout-all").header("Authorization", "Bearer " + tokens.refreshToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void accessTokenIsNotAcceptedAsARefreshToken() {
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> userAuthService.refreshToken(new RefreshTokenRequest(tokens.token())));
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> userAuthService.logout(new RefreshTokenRequest(tokens.token())));
+    }
+
+    @Test
+    void accessTokenIsRejectedAfterLogoutAll() throws Exception {
+        mockMvc.perform(post("/users/logout-all").header("Authorization", "Bearer " + tokens.token()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/users/logout-all").header("Authorization", "Bearer " + tokens.token()))
+                .andExpect(status().isForbidden());
+    }
+}
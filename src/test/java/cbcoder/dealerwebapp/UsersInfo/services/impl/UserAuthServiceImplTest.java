@@ -0,0 +1,108 @@
+package cbcoder.dealerwebapp.UsersInfo.services.impl;
+
+import cbcoder.dealerwebapp.UsersInfo.Dtos.SignUpRequest;
+import cbcoder.dealerwebapp.UsersInfo.model.Role;
+import cbcoder.dealerwebapp.UsersInfo.model.User;
+import cbcoder.dealerwebapp.UsersInfo.model.enums.RoleEnum;
+import cbcoder.dealerwebapp.UsersInfo.repositories.RoleRepository;
+import cbcoder.dealerwebapp.UsersInfo.security.RoleRegistry;
+import cbcoder.dealerwebapp.UsersInfo.services.UserAuthService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the registration of a user runs a bounded number of SQL statements,
+ * whatever the number of roles (the roles are resolved by the RoleRegistry, not by a query per role),
+ * and the cacheable role queries are served from the query cache.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class UserAuthServiceImplTest {
+
+    // Email check + users sequence + insert of the user + batched insert of the user roles.
+    private static final long MAX_STATEMENTS_PER_REGISTRATION = 4;
+
+    @Autowired
+    private UserAuthService userAuthService;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Role sales;
+    private Role workshop;
+    private Role valeter;
+
+    @BeforeEach
+    void setUp() {
+        sales = roleRegistry.getRole(RoleEnum.ROLE_SALES);
+        workshop = roleRegistry.getRole(RoleEnum.ROLE_WORKSHOP);
+        valeter = roleRegistry.getRole(RoleEnum.ROLE_VALETER);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void registerRunsABoundedNumberOfStatements() {
+        User user = register(Set.of(sales, workshop, valeter));
+
+        assertNotNull(user.getUserId());
+        assertEquals(3, user.getRoles().size());
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_REGISTRATION,
+                "Expected at most " + MAX_STATEMENTS_PER_REGISTRATION + " statements but was "
+                        + statistics.getPrepareStatementCount());
+        // Only the email check is a query, the roles are not read from the database.
+        assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void registerDoesNotQueryTheRolesPerRole() {
+        register(Set.of(sales));
+        long oneRoleQueries = statistics.getQueryExecutionCount();
+        statistics.clear();
+
+        register(Set.of(sales, workshop, valeter));
+
+        assertEquals(oneRoleQueries, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void countRoleByRoleNameIsServedFromTheQueryCache() {
+        // The first count may run the query, if the result is not cached yet.
+        assertEquals(1, roleRepository.countRoleByRoleName(RoleEnum.ROLE_SALES));
+        statistics.clear();
+
+        assertEquals(1, roleRepository.countRoleByRoleName(RoleEnum.ROLE_SALES));
+
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private User register(Set<Role> roles) {
+        User user = userAuthService.register(new SignUpRequest("Role", "Registry",
+                "role.registry." + System.nanoTime() + "@email.com", "password123", roles));
+        entityManager.flush();
+        return user;
+    }
+}
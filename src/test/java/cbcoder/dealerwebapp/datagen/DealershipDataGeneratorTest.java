@@ -0,0 +1,78 @@
+package cbcoder.dealerwebapp.datagen;
+
+import cbcoder.dealerwebapp.Cars.enums.CarStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the synthetic datasets are deterministic, do not depend on the chunks they are generated in,
+ * and have unique reg numbers, chassis numbers and emails.
+ */
+class DealershipDataGeneratorTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2026, 10, 17, 0, 0);
+
+    private final DealershipDataGenerator generator = new DealershipDataGenerator(42, AS_OF);
+
+    @Test
+    void sameSeedGivesTheSameDataset() {
+        DealershipDataGenerator other = new DealershipDataGenerator(42, AS_OF);
+        List<GeneratedUser> users = generator.users(1, 100);
+
+        assertEquals(users, other.users(1, 100));
+        assertEquals(generator.cars(1, 1000, users), other.cars(1, 1000, other.users(1, 100)));
+        assertNotEquals(generator.cars(1, 1000, users), new DealershipDataGenerator(43, AS_OF).cars(1, 1000, users));
+    }
+
+    @Test
+    void carsDoNotDependOnTheChunks() {
+        List<GeneratedUser> users = generator.users(1, 100);
+        List<GeneratedCar> cars = generator.cars(1, 1000, users);
+
+        assertEquals(cars.subList(500, 1000), generator.cars(501, 500, users));
+    }
+
+    @Test
+    void identifiersAreUnique() {
+        List<GeneratedUser> users = generator.users(1, 10_000);
+        List<GeneratedCar> cars = generator.cars(1, 200_000, users);
+
+        assertEquals(users.size(), users.stream().map(GeneratedUser::email).distinct().count());
+        Set<String> regNumbers = new HashSet<>();
+        Set<String> chassisNumbers = new HashSet<>();
+        for (GeneratedCar car : cars) {
+            assertTrue(car.regNumber().matches("[A-Z]{2}\\d{2}[A-Z]{3}"), car.regNumber());
+            assertEquals(17, car.chassisNumber().length());
+            assertTrue(regNumbers.add(car.regNumber()), car.regNumber());
+            assertTrue(chassisNumbers.add(car.chassisNumber()), car.chassisNumber());
+        }
+    }
+
+    @Test
+    void soldCarsAreSoldAfterTheyAreCreatedAndHandedOverAfterTheSale() {
+        List<GeneratedUser> users = generator.users(1, 100);
+        List<GeneratedCar> cars = generator.cars(1, 10_000, users);
+
+        long sold = cars.stream().filter(car -> car.carStatus() == CarStatus.SOLD).count();
+        assertTrue(sold > 6_500 && sold < 7_500, "Expected about 70% of sold cars but was " + sold);
+        for (GeneratedCar car : cars) {
+            assertFalse(car.dateCreated().isAfter(AS_OF));
+            assertTrue(users.stream().anyMatch(user -> user.userId() == car.userId() && user.canSell()));
+            if (car.carStatus() == CarStatus.SOLD) {
+                assertTrue(car.dateUpdated().isAfter(car.dateCreated()));
+                assertTrue(car.handoverDate().isAfter(car.dateUpdated()));
+                assertNotNull(car.buyerName());
+                assertTrue(car.workshopServiceStatus().isEmpty() && car.valeterStatus().isEmpty());
+            } else {
+                assertNull(car.dateUpdated());
+                assertNull(car.handoverDate());
+            }
+        }
+    }
+}